@@ -0,0 +1,62 @@
+package portal.faculty.faculty_portal;
+
+import portal.faculty.faculty_portal.task.Task;
+import portal.faculty.faculty_portal.task.TaskRow;
+import portal.faculty.faculty_portal.task.TaskStatus;
+import portal.faculty.faculty_portal.user.Role;
+import portal.faculty.faculty_portal.user.User;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Deterministic fixtures shared by the benchmarks. */
+public final class BenchmarkData {
+    private BenchmarkData() {}
+
+    private static final Instant BASE = Instant.parse("2026-09-01T08:00:00Z");
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    public static User user(long id, Role role) {
+        return User.builder()
+                .id(id)
+                .name("User " + id)
+                .email("user" + id + "@ftms.local")
+                .role(role)
+                .department(id % 2 == 0 ? "EEE" : "CSE")
+                .build();
+    }
+
+    public static List<Task> tasks(int n) {
+        User hod = user(1, Role.HOD);
+        List<Task> out = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            Instant created = BASE.plus(Duration.ofMinutes(i));
+            out.add(Task.builder()
+                    .id((long) i)
+                    .title("Task " + i)
+                    .description("Prepare the course file and lab report for section " + i)
+                    .dueAt(created.plus(Duration.ofDays(7)))
+                    .status(STATUSES[i % STATUSES.length])
+                    .priority(1 + i % 5)
+                    .assignedTo(user(2 + i % 40, Role.FACULTY))
+                    .assignedBy(hod)
+                    .createdAt(created)
+                    .updatedAt(created.plus(Duration.ofHours(3)))
+                    .build());
+        }
+        return out;
+    }
+
+    public static List<TaskRow> rows(int n) {
+        return tasks(n).stream().map(t -> new TaskRow(
+                t.getId(), t.getTitle(), t.getDescription(), t.getDueAt(), t.getStatus(), t.getPriority(),
+                t.getCreatedAt(), t.getUpdatedAt(),
+                t.getAssignedTo().getId(), t.getAssignedTo().getName(), t.getAssignedTo().getEmail(),
+                t.getAssignedTo().getRole(), t.getAssignedTo().getDepartment(),
+                t.getAssignedBy().getId(), t.getAssignedBy().getName(), t.getAssignedBy().getEmail(),
+                t.getAssignedBy().getRole(), t.getAssignedBy().getDepartment()
+        )).toList();
+    }
+}
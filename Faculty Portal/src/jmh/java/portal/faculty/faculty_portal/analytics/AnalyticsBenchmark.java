@@ -0,0 +1,55 @@
+package portal.faculty.faculty_portal.analytics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.*;
+import portal.faculty.faculty_portal.analytics.dto.PerformanceSummaryDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** Faculty scoring over grouped rows and JSON serialization of the resulting performance summary. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnalyticsBenchmark {
+
+    @Param({"50", "1000"})
+    public int faculty;
+
+    /** Configured like Spring Boot's mapper. */
+    private final ObjectMapper json = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private List<FacultyTaskStats> stats;
+    private PerformanceSummaryDto summary;
+
+    @Setup
+    public void setup() {
+        stats = new ArrayList<>(faculty);
+        for (long i = 0; i < faculty; i++) {
+            long assigned = 5 + i % 30;
+            stats.add(new FacultyTaskStats(i, "Faculty " + i, "f" + i + "@ftms.local", i % 2 == 0 ? "EEE" : "CSE",
+                    LocalDateTime.of(2025, 1, 1, 9, 0), assigned, assigned / 2, i % 4, i % 7, 3.5));
+        }
+        summary = AnalyticsServiceImpl.summarize(stats);
+    }
+
+    @Benchmark
+    public PerformanceSummaryDto score() {
+        return AnalyticsServiceImpl.summarize(stats);
+    }
+
+    @Benchmark
+    public byte[] serializeSummary() throws Exception {
+        return json.writeValueAsBytes(summary);
+    }
+}
@@ -0,0 +1,71 @@
+package portal.faculty.faculty_portal.analytics;
+
+import org.openjdk.jmh.annotations.*;
+import portal.faculty.faculty_portal.task.TaskStatus;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+/** Scans of the in-memory task cube behind the analytics endpoints: the faculty report and monthly trends. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskCubeBenchmark {
+
+    private static final Instant BASE = Instant.parse("2025-01-01T00:00:00Z");
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+    private static final int ASSIGNEES = 2000;
+
+    @Param({"200000", "1000000"})
+    public int tasks;
+
+    private final TaskColumns columns = new TaskColumns();
+    private final int[] departmentOf = new int[ASSIGNEES];
+    private long from;
+    private long to;
+    private long now;
+    private long[] monthBounds;
+
+    @Setup
+    public void setup() {
+        // one task every 5 minutes, as in the plan-suite seed
+        for (int i = 0; i < tasks; i++) {
+            long created = BASE.plus(Duration.ofMinutes(5L * i)).toEpochMilli();
+            columns.put(i + 1, STATUSES[i % STATUSES.length], (i * 7919) % ASSIGNEES,
+                    created, created + Duration.ofDays(14).toMillis(), created + Duration.ofDays(3).toMillis());
+        }
+        for (int a = 0; a < ASSIGNEES; a++) departmentOf[a] = a % 5;
+
+        Instant last = BASE.plus(Duration.ofMinutes(5L * tasks));
+        now = last.toEpochMilli();
+        from = last.minus(Duration.ofDays(183)).toEpochMilli();
+        to = now;
+
+        LocalDate first = LocalDate.ofInstant(last, ZoneOffset.UTC).minusMonths(6).withDayOfMonth(1);
+        monthBounds = new long[8];
+        for (int i = 0; i < monthBounds.length; i++) {
+            monthBounds[i] = first.plusMonths(i).atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+        }
+    }
+
+    @Benchmark
+    public TaskColumns.FacultyCounts facultyReport() {
+        return columns.facultyCounts(from, to, now, ASSIGNEES);
+    }
+
+    @Benchmark
+    public long[][] monthlyTrends() {
+        return columns.trendCounts(monthBounds, departmentOf, -1);
+    }
+
+    @Benchmark
+    public long[][] monthlyTrendsOneDepartment() {
+        return columns.trendCounts(monthBounds, departmentOf, 2);
+    }
+}
@@ -0,0 +1,63 @@
+package portal.faculty.faculty_portal.analytics;
+
+import org.openjdk.jmh.annotations.*;
+import portal.faculty.faculty_portal.task.TaskStatus;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** Facet panels and id pages from the task bitmaps: the unfiltered HOD view, a filtered one and a faculty one. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskFacetBenchmark {
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+    private static final int ASSIGNEES = 2000;
+    private static final int ASSIGNERS = 20;
+
+    @Param({"200000", "1000000"})
+    public int tasks;
+
+    private final TaskFacetIndex index = new TaskFacetIndex();
+    private final TaskFacetIndex.Filter everything =
+            new TaskFacetIndex.Filter(null, null, null, TaskFacetIndex.ANY, TaskFacetIndex.ANY, TaskFacetIndex.ANY);
+    private TaskFacetIndex.Filter overdueUrgentInOneDepartment;
+    private TaskFacetIndex.Filter oneAssignee;
+
+    @Setup
+    public void setup() {
+        for (int i = 0; i < tasks; i++) {
+            int assignee = (i * 7919) % ASSIGNEES;
+            index.put(i + 1, STATUSES[i % STATUSES.length], 1 + i % 5, assignee, i % ASSIGNERS, assignee % 5);
+        }
+        boolean[] overdue = new boolean[STATUSES.length];
+        overdue[TaskStatus.OVERDUE.ordinal()] = true;
+        overdueUrgentInOneDepartment =
+                new TaskFacetIndex.Filter(overdue, null, 2, 2, TaskFacetIndex.ANY, TaskFacetIndex.ANY);
+        oneAssignee = new TaskFacetIndex.Filter(null, null, null, TaskFacetIndex.ANY, 42, TaskFacetIndex.ANY);
+    }
+
+    @Benchmark
+    public TaskFacetIndex.Counts facetsUnfiltered() {
+        return index.count(everything);
+    }
+
+    @Benchmark
+    public TaskFacetIndex.Counts facetsFiltered() {
+        return index.count(overdueUrgentInOneDepartment);
+    }
+
+    @Benchmark
+    public TaskFacetIndex.Counts facetsOneAssignee() {
+        return index.count(oneAssignee);
+    }
+
+    @Benchmark
+    public List<Long> idPageFiltered() {
+        return index.ids(overdueUrgentInOneDepartment, tasks / 2, 200);
+    }
+}
@@ -0,0 +1,48 @@
+package portal.faculty.faculty_portal.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import portal.faculty.faculty_portal.BenchmarkData;
+import portal.faculty.faculty_portal.user.Role;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/** Full per-request authentication: header parsing, token verification, denylist check, context set-up. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"10000", "0"})
+    public int cacheSize;
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+    private final FilterChain chain = (req, res) -> { };
+
+    @Setup
+    public void setup() {
+        JwtService jwt = new JwtService("use-a-long-random-string-here-change-me-please-1234567890",
+                720, cacheSize, Duration.ofMinutes(5), new SimpleMeterRegistry());
+        // the denylist only reads its in-memory map on the request path
+        filter = new JwtAuthenticationFilter(jwt, new TokenDenylist(null));
+        request = new MockHttpServletRequest("GET", "/api/tasks");
+        request.addHeader("Authorization", "Bearer " + jwt.generateToken(BenchmarkData.user(2, Role.FACULTY)));
+    }
+
+    @Benchmark
+    public Authentication authenticate() throws Exception {
+        SecurityContextHolder.clearContext();
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
@@ -0,0 +1,60 @@
+package portal.faculty.faculty_portal.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import portal.faculty.faculty_portal.BenchmarkData;
+import portal.faculty.faculty_portal.user.Role;
+import portal.faculty.faculty_portal.user.User;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/** Token issue and verification, with and without the verified-token cache. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET = "use-a-long-random-string-here-change-me-please-1234567890";
+    private static final int DISTINCT_TOKENS = 1024;
+
+    private JwtService cached;
+    private JwtService uncached;
+    private User user;
+    private String token;
+    private String[] tokens;
+    private int next;
+
+    @Setup
+    public void setup() {
+        cached = new JwtService(SECRET, 720, 10_000, Duration.ofMinutes(5), new SimpleMeterRegistry());
+        uncached = new JwtService(SECRET, 720, 0, Duration.ofMinutes(5), new SimpleMeterRegistry());
+        user = BenchmarkData.user(2, Role.FACULTY);
+        token = cached.generateToken(user);
+        tokens = new String[DISTINCT_TOKENS];
+        for (int i = 0; i < DISTINCT_TOKENS; i++) {
+            tokens[i] = uncached.generateToken(BenchmarkData.user(i, Role.FACULTY));
+        }
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cached.generateToken(user);
+    }
+
+    /** Signature check and claim parsing on every call. */
+    @Benchmark
+    public User verifyUncached() {
+        next = (next + 1) & (DISTINCT_TOKENS - 1);
+        return uncached.parsePrincipal(tokens[next]);
+    }
+
+    /** Repeat request with the same bearer token. */
+    @Benchmark
+    public User verifyCached() {
+        return cached.parsePrincipal(token);
+    }
+}
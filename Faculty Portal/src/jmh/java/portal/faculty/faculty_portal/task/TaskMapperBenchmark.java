@@ -0,0 +1,56 @@
+package portal.faculty.faculty_portal.task;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.*;
+import portal.faculty.faculty_portal.BenchmarkData;
+import portal.faculty.faculty_portal.task.dto.TaskView;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** Entity and read-model mapping of a task list to views, and JSON serialization of those views. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskMapperBenchmark {
+
+    @Param({"200", "10000"})
+    public int size;
+
+    private List<Task> tasks;
+    private List<TaskRow> rows;
+    private List<TaskView> views;
+
+    /** Configured like Spring Boot's mapper. */
+    private final ObjectMapper json = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    @Setup
+    public void setup() {
+        tasks = BenchmarkData.tasks(size);
+        rows = BenchmarkData.rows(size);
+        views = fromRows();
+    }
+
+    @Benchmark
+    public List<TaskView> fromEntities() {
+        return tasks.stream().map(TaskMapper::toView).toList();
+    }
+
+    @Benchmark
+    public List<TaskView> fromRows() {
+        return rows.stream().map(TaskMapper::toView).toList();
+    }
+
+    @Benchmark
+    public byte[] serializeViews() throws Exception {
+        return json.writeValueAsBytes(views);
+    }
+}
@@ -5,6 +5,7 @@ import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -12,7 +13,9 @@ import portal.faculty.faculty_portal.analytics.dto.PerformanceSummaryDto;
 import portal.faculty.faculty_portal.analytics.dto.TaskTrendDto;
 
 import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/analytics")
@@ -21,13 +24,14 @@ import java.util.List;
 public class AnalyticsController {
 
     private final AnalyticsService analyticsService;
+    private final TaskRollupService rollupService;
 
     @GetMapping("/faculty-performance")
     public ResponseEntity<PerformanceSummaryDto> getFacultyPerformance(
             @RequestParam(value = "startDate", required = false)
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
 
-            @RequestParam(value = "startDate", required = false)
+            @RequestParam(value = "endDate", required = false)
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
 
             @RequestParam(value = "department", required = false) String department) {
@@ -49,10 +53,14 @@ public class AnalyticsController {
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
 
             @RequestParam(value = "endDate", required = false)
-            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+
+            @RequestParam(value = "granularity", defaultValue = "MONTH") TrendGranularity granularity,
+            @RequestParam(value = "zone", required = false) ZoneId zone,
+            @RequestParam(value = "department", required = false) String department) {
 
         try {
-            List<TaskTrendDto> trends = analyticsService.getTaskTrends(startDate, endDate);
+            List<TaskTrendDto> trends = analyticsService.getTaskTrends(startDate, endDate, granularity, zone, department);
             return ResponseEntity.ok(trends);
         } catch (Exception e) {
             System.err.println("Error in getTaskTrends: " + e.getMessage());
@@ -60,4 +68,15 @@ public class AnalyticsController {
             throw e;
         }
     }
+
+    /**
+     * Recomputes task_daily_rollup from the tasks table (backfill after imports or manual fixes).
+     * ADMIN only: the rebuild locks the rollup table, stalling task writes until it is done.
+     */
+    @PostMapping("/rollup/rebuild")
+    @PreAuthorize("hasAnyAuthority('ADMIN','ROLE_ADMIN')")
+    public ResponseEntity<Map<String, Object>> rebuildRollup() {
+        int rows = rollupService.rebuild();
+        return ResponseEntity.ok(Map.of("rows", rows));
+    }
 }
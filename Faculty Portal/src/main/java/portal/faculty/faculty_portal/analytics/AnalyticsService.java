@@ -4,9 +4,11 @@ import portal.faculty.faculty_portal.analytics.dto.PerformanceSummaryDto;
 import portal.faculty.faculty_portal.analytics.dto.TaskTrendDto;
 
 import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.List;
 
 public interface AnalyticsService {
     PerformanceSummaryDto getFacultyPerformance(LocalDate startDate, LocalDate endDate, String department);
-    List<TaskTrendDto> getTaskTrends(LocalDate startDate, LocalDate endDate);
+    List<TaskTrendDto> getTaskTrends(LocalDate startDate, LocalDate endDate,
+                                     TrendGranularity granularity, ZoneId zone, String department);
 }
@@ -1,33 +1,32 @@
 package portal.faculty.faculty_portal.analytics;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import portal.faculty.faculty_portal.analytics.dto.FacultyPerformanceDto;
 import portal.faculty.faculty_portal.analytics.dto.PerformanceSummaryDto;
 import portal.faculty.faculty_portal.analytics.dto.TaskTrendDto;
-import portal.faculty.faculty_portal.task.Task;
-import portal.faculty.faculty_portal.task.TaskRepository;
 import portal.faculty.faculty_portal.task.TaskStatus;
 import portal.faculty.faculty_portal.user.Role;
-import portal.faculty.faculty_portal.user.User;
-import portal.faculty.faculty_portal.user.UserRepository;
 
 import java.time.*;
 import java.time.format.TextStyle;
-import java.time.temporal.ChronoUnit;
 import java.util.*;
-import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class AnalyticsServiceImpl implements AnalyticsService {
 
-    private final UserRepository userRepository;
-    private final TaskRepository taskRepository;
+    private final TaskAnalyticsRepository taskAnalyticsRepository;
+    private final TaskDailyRollupRepository rollupRepository;
+    private final TaskRollupService rollupService;
+    private final TaskCube cube;
+
+    // No @Transactional here: the cube path must not take a connection, and the SQL fallback is a
+    // single (read-only transactional) repository call.
 
     @Override
-    @Transactional(readOnly = true)
     public PerformanceSummaryDto getFacultyPerformance(LocalDate startDate, LocalDate endDate, String department) {
         // Set default date range if not provided
         if (startDate == null) {
@@ -44,45 +43,34 @@ public class AnalyticsServiceImpl implements AnalyticsService {
         Instant endInstant = endDateTime.atZone(ZoneId.systemDefault()).toInstant();
         Instant currentTime = Instant.now();
 
-        // Debug logging
-        System.out.println("🔍 Analytics Query - Start: " + startDate + ", End: " + endDate);
+        log.debug("Faculty performance query: {} to {}", startDate, endDate);
 
-        // Get faculty users
-        List<User> facultyUsers = userRepository.findByRole(Role.FACULTY);
-        System.out.println("🔍 Found " + facultyUsers.size() + " faculty users");
+        // From the in-memory cube once loaded, else one grouped statement for all faculty
+        String departmentFilter = (department != null && !department.isEmpty()) ? department : null;
+        List<FacultyTaskStats> stats = cube.isReady()
+                ? cube.facultyStats(departmentFilter, startInstant, endInstant, currentTime)
+                : taskAnalyticsRepository.facultyStats(
+                        Role.FACULTY, departmentFilter, startInstant, endInstant, currentTime,
+                        TaskStatus.COMPLETED, TaskStatus.IN_PROGRESS);
 
-        // Filter by department if specified
-        if (department != null && !department.isEmpty()) {
-            facultyUsers = facultyUsers.stream()
-                    .filter(user -> department.equals(user.getDepartment()))
-                    .toList();
-        }
+        PerformanceSummaryDto summary = summarize(stats);
+        log.debug("Faculty performance: {} faculty, {} assigned, {} completed",
+                stats.size(), summary.getTotalTasksAssigned(), summary.getTotalTasksCompleted());
+        return summary;
+    }
 
-        List<FacultyPerformanceDto> facultyPerformances = new ArrayList<>();
+    /** Per-faculty scoring and department totals over the grouped rows (pure; benchmarked in src/jmh). */
+    static PerformanceSummaryDto summarize(List<FacultyTaskStats> stats) {
+        List<FacultyPerformanceDto> facultyPerformances = new ArrayList<>(stats.size());
         int totalTasksAssigned = 0;
         int totalTasksCompleted = 0;
         double totalPerformanceScore = 0;
 
-        for (User faculty : facultyUsers) {
-            System.out.println("🔍 Processing faculty: " + faculty.getName() + " (ID: " + faculty.getId() + ")");
-
-            // ✅ FIX: Use direct database counting instead of Java filtering
-            Long tasksAssigned = taskRepository.countTasksAssignedToUserInPeriod(faculty.getId(), startInstant, endInstant);
-            Long tasksCompleted = taskRepository.countTasksByUserAndStatusInPeriod(faculty.getId(), TaskStatus.COMPLETED, startInstant, endInstant);
-            Long tasksInProgress = taskRepository.countTasksByUserAndStatusInPeriod(faculty.getId(), TaskStatus.IN_PROGRESS, startInstant, endInstant);
-            Long tasksOverdue = taskRepository.countOverdueTasksByUserInPeriod(faculty.getId(), TaskStatus.COMPLETED, currentTime, startInstant, endInstant);
-
-            // Handle null results from queries
-            tasksAssigned = tasksAssigned != null ? tasksAssigned : 0L;
-            tasksCompleted = tasksCompleted != null ? tasksCompleted : 0L;
-            tasksInProgress = tasksInProgress != null ? tasksInProgress : 0L;
-            tasksOverdue = tasksOverdue != null ? tasksOverdue : 0L;
-
-            System.out.println("  📊 Tasks - Assigned: " + tasksAssigned + ", Completed: " + tasksCompleted +
-                    ", In Progress: " + tasksInProgress + ", Overdue: " + tasksOverdue);
-
-            // Calculate average completion time using direct query
-            double avgCompletionTime = calculateAverageCompletionTime(faculty.getId(), startInstant, endInstant);
+        for (FacultyTaskStats row : stats) {
+            long tasksAssigned = row.tasksAssigned();
+            long tasksCompleted = row.tasksCompleted();
+            long tasksOverdue = row.tasksOverdue();
+            double avgCompletionTime = row.averageCompletionDays() != null ? row.averageCompletionDays() : 0.0;
 
             // Calculate performance score
             double completionRate = tasksAssigned > 0 ? (double) tasksCompleted / tasksAssigned * 100 : 0;
@@ -90,16 +78,16 @@ public class AnalyticsServiceImpl implements AnalyticsService {
             double performanceScore = (completionRate + timelinessScore) / 2;
 
             // Get last active date (simplified)
-            LocalDate lastActiveDate = faculty.getCreatedAt().toLocalDate();
+            LocalDate lastActiveDate = row.joinedAt() != null ? row.joinedAt().toLocalDate() : null;
 
             FacultyPerformanceDto facultyPerformance = FacultyPerformanceDto.builder()
-                    .facultyId(faculty.getId())
-                    .facultyName(faculty.getName())
-                    .facultyEmail(faculty.getEmail())
-                    .department(faculty.getDepartment())
+                    .facultyId(row.facultyId())
+                    .facultyName(row.facultyName())
+                    .facultyEmail(row.facultyEmail())
+                    .department(row.department())
                     .tasksAssigned(tasksAssigned)
                     .tasksCompleted(tasksCompleted)
-                    .tasksInProgress(tasksInProgress)
+                    .tasksInProgress(row.tasksInProgress())
                     .tasksOverdue(tasksOverdue)
                     .averageCompletionTime(avgCompletionTime)
                     .performanceScore(performanceScore)
@@ -108,17 +96,15 @@ public class AnalyticsServiceImpl implements AnalyticsService {
 
             facultyPerformances.add(facultyPerformance);
 
-            totalTasksAssigned += tasksAssigned.intValue();
-            totalTasksCompleted += tasksCompleted.intValue();
+            totalTasksAssigned += (int) tasksAssigned;
+            totalTasksCompleted += (int) tasksCompleted;
             totalPerformanceScore += performanceScore;
         }
 
-        double averagePerformanceScore = !facultyUsers.isEmpty() ? totalPerformanceScore / facultyUsers.size() : 0;
-
-        System.out.println("🔍 Final totals - Assigned: " + totalTasksAssigned + ", Completed: " + totalTasksCompleted);
+        double averagePerformanceScore = !stats.isEmpty() ? totalPerformanceScore / stats.size() : 0;
 
         return PerformanceSummaryDto.builder()
-                .totalFaculty(facultyUsers.size())
+                .totalFaculty(stats.size())
                 .totalTasksAssigned(totalTasksAssigned)
                 .totalTasksCompleted(totalTasksCompleted)
                 .averagePerformanceScore(averagePerformanceScore)
@@ -126,68 +112,65 @@ public class AnalyticsServiceImpl implements AnalyticsService {
                 .build();
     }
 
-    private double calculateAverageCompletionTime(Long userId, Instant startDate, Instant endDate) {
-        List<Object[]> completionTimes = taskRepository.findCompletionTimesByUserInPeriod(userId, startDate, endDate);
-
-        if (completionTimes.isEmpty()) {
-            return 0.0;
-        }
-
-        return completionTimes.stream()
-                .mapToDouble(row -> {
-                    Instant createdAt = (Instant) row[0];
-                    Instant updatedAt = (Instant) row[1];
-                    return ChronoUnit.DAYS.between(createdAt, updatedAt);
-                })
-                .average()
-                .orElse(0.0);
-    }
-
+    /**
+     * Only the zones the rollup is kept in, whichever backend answers: the cube could bucket any
+     * zone, but then the same request would fail or succeed depending on whether it is loaded yet.
+     */
     @Override
-    @Transactional(readOnly = true)
-    public List<TaskTrendDto> getTaskTrends(LocalDate startDate, LocalDate endDate) {
+    public List<TaskTrendDto> getTaskTrends(LocalDate startDate, LocalDate endDate,
+                                            TrendGranularity granularity, ZoneId zone, String department) {
+        if (zone == null) {
+            zone = rollupService.zones().get(0);
+        } else if (!rollupService.zones().contains(zone)) {
+            throw new IllegalArgumentException("Unsupported zone: " + zone + ". Available: " + rollupService.zones());
+        }
+        if (granularity == null) {
+            granularity = TrendGranularity.MONTH;
+        }
         if (startDate == null) {
-            startDate = LocalDate.now().minusMonths(6);
+            startDate = LocalDate.now(zone).minusMonths(6);
         }
         if (endDate == null) {
-            endDate = LocalDate.now();
+            endDate = LocalDate.now(zone);
         }
 
-        LocalDateTime startDateTime = startDate.atStartOfDay();
-        LocalDateTime endDateTime = endDate.atTime(23, 59, 59);
-
-        Instant startInstant = startDateTime.atZone(ZoneId.systemDefault()).toInstant();
-        Instant endInstant = endDateTime.atZone(ZoneId.systemDefault()).toInstant();
-
-        // Get tasks with basic info for trend analysis
-        List<Task> tasks = taskRepository.findByCreatedAtBetween(startInstant, endInstant);
-
-        Map<String, TaskTrendDto> trendsMap = new LinkedHashMap<>();
-
-        for (Task task : tasks) {
-            LocalDateTime createdAt = task.getCreatedAt().atZone(ZoneId.systemDefault()).toLocalDateTime();
-            String monthKey = createdAt.getMonth().getDisplayName(TextStyle.SHORT, Locale.ENGLISH) +
-                    " " + createdAt.getYear();
-
-            TaskTrendDto trend = trendsMap.computeIfAbsent(monthKey, k -> TaskTrendDto.builder()
-                    .month(k)
-                    .assigned(0)
-                    .completed(0)
-                    .overdue(0)
+        String departmentFilter = (department != null && !department.isEmpty()) ? department : null;
+        List<TrendBucket> buckets = cube.isReady()
+                ? cube.trends(zone, granularity, startDate, endDate, departmentFilter)
+                : rollupBuckets(zone, granularity, startDate, endDate, departmentFilter);
+
+        List<TaskTrendDto> trends = new ArrayList<>(buckets.size());
+        for (TrendBucket b : buckets) {
+            trends.add(TaskTrendDto.builder()
+                    .month(label(b.start(), granularity))
+                    .periodStart(b.start())
+                    .assigned((int) b.assigned())
+                    .completed((int) b.completed())
+                    .overdue((int) b.overdue())
                     .build());
+        }
+        return trends;
+    }
 
-            trend.setAssigned(trend.getAssigned() + 1);
+    private List<TrendBucket> rollupBuckets(ZoneId zone, TrendGranularity granularity,
+                                            LocalDate startDate, LocalDate endDate, String department) {
+        List<Object[]> rows = rollupRepository.sumByPeriod(zone.getId(), granularity.unit, startDate, endDate, department);
+        List<TrendBucket> buckets = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            buckets.add(new TrendBucket(toLocalDate(row[0]),
+                    ((Number) row[1]).longValue(), ((Number) row[2]).longValue(), ((Number) row[3]).longValue()));
+        }
+        return buckets;
+    }
 
-            if (task.getStatus() == TaskStatus.COMPLETED) {
-                trend.setCompleted(trend.getCompleted() + 1);
-            }
+    private static LocalDate toLocalDate(Object value) {
+        return value instanceof java.sql.Date d ? d.toLocalDate() : (LocalDate) value;
+    }
 
-            LocalDateTime dueAt = task.getDueAt().atZone(ZoneId.systemDefault()).toLocalDateTime();
-            if (dueAt.isBefore(LocalDateTime.now()) && task.getStatus() != TaskStatus.COMPLETED) {
-                trend.setOverdue(trend.getOverdue() + 1);
-            }
+    private static String label(LocalDate periodStart, TrendGranularity granularity) {
+        if (granularity == TrendGranularity.MONTH) {
+            return periodStart.getMonth().getDisplayName(TextStyle.SHORT, Locale.ENGLISH) + " " + periodStart.getYear();
         }
-
-        return new ArrayList<>(trendsMap.values());
+        return periodStart.toString();
     }
 }
@@ -0,0 +1,17 @@
+package portal.faculty.faculty_portal.analytics;
+
+import java.time.LocalDateTime;
+
+/** One row of the grouped faculty aggregation: a FACULTY user plus their task counters for the period. */
+public record FacultyTaskStats(
+        Long facultyId,
+        String facultyName,
+        String facultyEmail,
+        String department,
+        LocalDateTime joinedAt,
+        Long tasksAssigned,
+        Long tasksCompleted,
+        Long tasksInProgress,
+        Long tasksOverdue,
+        Double averageCompletionDays
+) {}
@@ -0,0 +1,58 @@
+package portal.faculty.faculty_portal.analytics;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+import portal.faculty.faculty_portal.task.Task;
+import portal.faculty.faculty_portal.task.TaskStatus;
+import portal.faculty.faculty_portal.user.Role;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+/** Read-only, set-based queries over tasks used by the analytics endpoints. */
+public interface TaskAnalyticsRepository extends Repository<Task, Long> {
+
+    /**
+     * Per-faculty counters for tasks created in [start, end], computed in a single grouped statement.
+     * Faculty without tasks in the period are still returned (LEFT JOIN) with zero counts.
+     */
+    @Query("""
+            SELECT new portal.faculty.faculty_portal.analytics.FacultyTaskStats(
+                u.id, u.name, u.email, u.department, u.createdAt,
+                COUNT(t.id),
+                COALESCE(SUM(CASE WHEN t.status = :completed THEN 1 ELSE 0 END), 0),
+                COALESCE(SUM(CASE WHEN t.status = :inProgress THEN 1 ELSE 0 END), 0),
+                COALESCE(SUM(CASE WHEN t.status <> :completed AND t.dueAt < :now THEN 1 ELSE 0 END), 0),
+                AVG(CASE WHEN t.status = :completed THEN FLOOR((t.updatedAt - t.createdAt) BY DAY) END))
+            FROM User u
+            LEFT JOIN Task t ON t.assignedTo = u AND t.createdAt BETWEEN :start AND :end
+            WHERE u.role = :role
+              AND (:department IS NULL OR u.department = :department)
+            GROUP BY u.id, u.name, u.email, u.department, u.createdAt
+            ORDER BY u.id
+            """)
+    List<FacultyTaskStats> facultyStats(@Param("role") Role role,
+                                        @Param("department") String department,
+                                        @Param("start") Instant start,
+                                        @Param("end") Instant end,
+                                        @Param("now") Instant now,
+                                        @Param("completed") TaskStatus completed,
+                                        @Param("inProgress") TaskStatus inProgress);
+
+    /** Every task's facts, streamed in large fetches (cube load); the caller must close the stream. */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "10000"))
+    @Query("SELECT new portal.faculty.faculty_portal.analytics.TaskFact("
+            + "t.id, t.status, t.priority, t.assignedTo.id, t.assignedBy.id, t.createdAt, t.dueAt, t.updatedAt) FROM Task t")
+    Stream<TaskFact> streamFacts();
+
+    /** Facts of the tasks changed after {@code since}, through idx_tasks_updated (cube refresh). */
+    @Query("SELECT new portal.faculty.faculty_portal.analytics.TaskFact("
+            + "t.id, t.status, t.priority, t.assignedTo.id, t.assignedBy.id, t.createdAt, t.dueAt, t.updatedAt) FROM Task t "
+            + "WHERE t.updatedAt > :since")
+    List<TaskFact> findFactsUpdatedAfter(@Param("since") Instant since);
+}
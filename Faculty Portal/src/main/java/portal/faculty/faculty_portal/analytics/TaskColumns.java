@@ -0,0 +1,218 @@
+package portal.faculty.faculty_portal.analytics;
+
+import portal.faculty.faculty_portal.task.TaskStatus;
+
+import java.util.Arrays;
+
+/**
+ * Task facts as parallel primitive arrays, one slot per task: status ordinal, assignee code and
+ * created/due/updated times in epoch millis. Task ids are only kept to find a task's slot on updates.
+ * Slots fill in arrival order, which roughly follows creation time, so each zone of {@value #ZONE}
+ * slots also records the range of its creation times and period scans skip zones outside the period.
+ * <p>
+ * One writer (the cube's refresh thread) and any number of lock-free readers: a new row and any grown
+ * arrays are in place before {@code size} is published, so a scan sees every row below the size it
+ * read. Updates of existing rows land in place unordered; a scan may see a row mid-update.
+ */
+final class TaskColumns {
+
+    static final int NO_ASSIGNEE = -1;
+    /** Due time of a task without a deadline: never overdue. */
+    static final long NEVER = Long.MAX_VALUE;
+    /** Created time of a task without one: outside every period. */
+    static final long UNKNOWN = Long.MIN_VALUE;
+
+    static final int ZONE = 1024;
+    private static final int ZONE_SHIFT = 10;
+
+    private static final long DAY_MS = 86_400_000L;
+    private static final byte REMOVED = -1;
+    private static final byte COMPLETED = (byte) TaskStatus.COMPLETED.ordinal();
+    private static final byte IN_PROGRESS = (byte) TaskStatus.IN_PROGRESS.ordinal();
+    private static final byte OVERDUE = (byte) TaskStatus.OVERDUE.ordinal();
+
+    private record Block(byte[] status, int[] assignee, long[] createdAt, long[] dueAt, long[] updatedAt,
+                         long[] zoneMin, long[] zoneMax) {
+        Block(int capacity) {
+            this(new byte[capacity], new int[capacity], new long[capacity], new long[capacity], new long[capacity],
+                    new long[capacity / ZONE], new long[capacity / ZONE]);
+        }
+
+        Block grow(int capacity) {
+            return new Block(Arrays.copyOf(status, capacity), Arrays.copyOf(assignee, capacity),
+                    Arrays.copyOf(createdAt, capacity), Arrays.copyOf(dueAt, capacity), Arrays.copyOf(updatedAt, capacity),
+                    Arrays.copyOf(zoneMin, capacity / ZONE), Arrays.copyOf(zoneMax, capacity / ZONE));
+        }
+    }
+
+    /** Per-assignee counters of {@link #facultyCounts}, indexed by assignee code. */
+    record FacultyCounts(long[] assigned, long[] completed, long[] inProgress, long[] overdue, long[] completionDays) {}
+
+    private volatile Block block = new Block(ZONE);
+    private volatile int size;
+
+    // task id -> slot, open addressing with linear probing (0 = empty; task ids start at 1); writer only
+    private long[] keys = new long[2048];
+    private int[] slots = new int[2048];
+
+    int size() {
+        return size;
+    }
+
+    /** Inserts or overwrites the task's row. Writer only. */
+    void put(long id, TaskStatus status, int assignee, long createdAt, long dueAt, long updatedAt) {
+        int slot = slotOf(id);
+        Block b = block;
+        int zone;
+        if (slot < 0) {
+            slot = size;
+            if (slot == b.status().length) {
+                b = b.grow(slot * 2);
+                block = b;
+            }
+            index(id, slot);
+            zone = slot >>> ZONE_SHIFT;
+            if ((slot & (ZONE - 1)) == 0) {
+                b.zoneMin()[zone] = createdAt;
+                b.zoneMax()[zone] = createdAt;
+            }
+        } else {
+            zone = slot >>> ZONE_SHIFT;
+        }
+        // only ever widened, so a scan never skips a zone holding a row of its period
+        b.zoneMin()[zone] = Math.min(b.zoneMin()[zone], createdAt);
+        b.zoneMax()[zone] = Math.max(b.zoneMax()[zone], createdAt);
+        b.status()[slot] = (byte) status.ordinal();
+        b.assignee()[slot] = assignee;
+        b.createdAt()[slot] = createdAt;
+        b.dueAt()[slot] = dueAt;
+        b.updatedAt()[slot] = updatedAt;
+        if (slot == size) size = slot + 1;
+    }
+
+    /** Drops a deleted task from every scan; its slot is not reused. Writer only. */
+    void remove(long id) {
+        int slot = slotOf(id);
+        if (slot < 0) return;
+        Block b = block;
+        b.assignee()[slot] = NO_ASSIGNEE;
+        b.status()[slot] = REMOVED;
+    }
+
+    /**
+     * Counters of tasks created in [from, to] per assignee code below {@code assignees}: assigned,
+     * completed, in progress, overdue (not completed and due before {@code now}) and the sum of whole
+     * days from creation to last update over the completed ones. Same semantics as
+     * {@link TaskAnalyticsRepository#facultyStats}.
+     */
+    FacultyCounts facultyCounts(long from, long to, long now, int assignees) {
+        long[] assigned = new long[assignees];
+        long[] completed = new long[assignees];
+        long[] inProgress = new long[assignees];
+        long[] overdue = new long[assignees];
+        long[] completionDays = new long[assignees];
+
+        int n = size;
+        Block b = block;
+        byte[] status = b.status();
+        int[] assignee = b.assignee();
+        long[] createdAt = b.createdAt();
+        long[] dueAt = b.dueAt();
+        long[] updatedAt = b.updatedAt();
+        for (int z = 0, zones = (n + ZONE - 1) >>> ZONE_SHIFT; z < zones; z++) {
+            if (b.zoneMax()[z] < from || b.zoneMin()[z] > to) continue;
+            for (int i = z << ZONE_SHIFT, end = Math.min(n, (z + 1) << ZONE_SHIFT); i < end; i++) {
+                long created = createdAt[i];
+                int a = assignee[i];
+                if (created < from || created > to || a < 0 || a >= assignees) continue; // also skips removed rows
+                byte s = status[i];
+                assigned[a]++;
+                if (s == COMPLETED) {
+                    completed[a]++;
+                    completionDays[a] += Math.floorDiv(updatedAt[i] - created, DAY_MS);
+                } else if (dueAt[i] < now) {
+                    overdue[a]++;
+                }
+                if (s == IN_PROGRESS) inProgress[a]++;
+            }
+        }
+        return new FacultyCounts(assigned, completed, inProgress, overdue, completionDays);
+    }
+
+    /**
+     * [assigned, completed, overdue] counts of tasks created in each bucket, bucket i being
+     * [bounds[i], bounds[i + 1]). With {@code department} >= 0 only tasks whose assignee code maps
+     * to it in {@code departmentOf} are counted. Same semantics as task_daily_rollup.
+     */
+    long[][] trendCounts(long[] bounds, int[] departmentOf, int department) {
+        int buckets = bounds.length - 1;
+        long[] assigned = new long[buckets];
+        long[] completed = new long[buckets];
+        long[] overdue = new long[buckets];
+        long from = bounds[0];
+        long to = bounds[buckets];
+
+        int n = size;
+        Block b = block;
+        byte[] status = b.status();
+        int[] assignee = b.assignee();
+        long[] createdAt = b.createdAt();
+        int k = 0;
+        for (int z = 0, zones = (n + ZONE - 1) >>> ZONE_SHIFT; z < zones; z++) {
+            if (b.zoneMax()[z] < from || b.zoneMin()[z] >= to) continue;
+            for (int i = z << ZONE_SHIFT, end = Math.min(n, (z + 1) << ZONE_SHIFT); i < end; i++) {
+                long created = createdAt[i];
+                int a = assignee[i];
+                if (created < from || created >= to || a < 0) continue;
+                if (department >= 0 && (a >= departmentOf.length || departmentOf[a] != department)) continue;
+                // neighbouring slots are usually in the same bucket
+                if (created < bounds[k] || created >= bounds[k + 1]) {
+                    k = Arrays.binarySearch(bounds, created);
+                    if (k < 0) k = -k - 2; // inside the bucket starting before the insertion point
+                }
+                byte s = status[i];
+                assigned[k]++;
+                if (s == COMPLETED) completed[k]++;
+                if (s == OVERDUE) overdue[k]++;
+            }
+        }
+        return new long[][]{assigned, completed, overdue};
+    }
+
+    private int slotOf(long id) {
+        int mask = keys.length - 1;
+        for (int i = hash(id) & mask; keys[i] != 0; i = (i + 1) & mask) {
+            if (keys[i] == id) return slots[i];
+        }
+        return -1;
+    }
+
+    private void index(long id, int slot) {
+        if ((size + 1) * 2 > keys.length) rehash(keys.length * 2);
+        int mask = keys.length - 1;
+        int i = hash(id) & mask;
+        while (keys[i] != 0) i = (i + 1) & mask;
+        keys[i] = id;
+        slots[i] = slot;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldSlots = slots;
+        keys = new long[capacity];
+        slots = new int[capacity];
+        int mask = capacity - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] == 0) continue;
+            int i = hash(oldKeys[j]) & mask;
+            while (keys[i] != 0) i = (i + 1) & mask;
+            keys[i] = oldKeys[j];
+            slots[i] = oldSlots[j];
+        }
+    }
+
+    private static int hash(long id) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,408 @@
+package portal.faculty.faculty_portal.analytics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import portal.faculty.faculty_portal.task.TaskEvent;
+import portal.faculty.faculty_portal.task.TaskRepository;
+import portal.faculty.faculty_portal.task.TaskStatus;
+import portal.faculty.faculty_portal.task.dto.TaskFacets;
+import portal.faculty.faculty_portal.task.dto.TaskListQuery;
+import portal.faculty.faculty_portal.task.outbox.TaskEventListener;
+import portal.faculty.faculty_portal.user.Role;
+import portal.faculty.faculty_portal.user.User;
+import portal.faculty.faculty_portal.user.UserRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.TreeMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * In-memory copy of the task facts the analytics endpoints slice ({@link TaskColumns}), so dashboard
+ * queries are scans over primitive arrays instead of SQL, plus bitmaps of the task list filters
+ * ({@link TaskFacetIndex}) for facet counts and id paging.
+ * <p>
+ * Loaded in bulk on its own thread once the application is ready (until then {@link #isReady()} is
+ * false and callers use SQL), then kept current by re-reading the tasks changed since the last round
+ * (through idx_tasks_updated) plus deleted ones from task_tombstones. Each round starts no later than the
+ * oldest write still in flight at the previous one ({@link TaskRepository#findOldestWriteStart}), less an
+ * {@code overlap} for clock skew, so a commit landing after a round is still read by the next. Rounds
+ * run every {@code poll-interval} and right after each task event this node relays; polling keeps every
+ * node's cube current, not only the one that delivered the event.
+ * Users are reloaded whenever their version changes, and at least every {@link #USERS_MAX_AGE} for
+ * edits made outside the application (which don't bump updated_at). Every {@code reconcile-interval}
+ * the cube is rebuilt from scratch and swapped in, so anything the rounds missed is not kept for good.
+ */
+@Slf4j
+@Component
+public class TaskCube implements TaskEventListener {
+
+    private static final Duration USERS_MAX_AGE = Duration.ofMinutes(1);
+
+    /** A FACULTY user as the performance report lists them. */
+    private record Member(int code, Long id, String name, String email, String department, LocalDateTime joinedAt) {}
+
+    /** Users keyed by assignee code; replaced as a whole when users change. */
+    private record Directory(int[] departmentOf, long[] userIdOf, String[] departmentNames,
+                             Map<Long, Integer> userCodes, Map<String, Integer> departmentCodes, List<Member> faculty) {}
+
+    /** Task rows and bitmaps; a reconcile fills fresh ones and swaps them in. */
+    private static final class Tables {
+        final TaskColumns columns = new TaskColumns();
+        final TaskFacetIndex facetIndex = new TaskFacetIndex();
+        volatile boolean facetsIndexed = true; // the bitmaps take int ids; off for good past that
+    }
+
+    private final TaskAnalyticsRepository facts;
+    private final TaskRepository tasks;
+    private final UserRepository users;
+    private final TransactionTemplate tx;
+    private final boolean enabled;
+    private final Duration pollInterval;
+    private final Duration overlap;
+    private final Duration reconcileInterval;
+
+    private final ScheduledThreadPoolExecutor executor;
+    private final AtomicBoolean wakeQueued = new AtomicBoolean();
+    private final Timer refreshes;
+
+    // refresh thread only; codes are never reassigned, the task columns store them
+    private final Map<Long, Integer> userCodes = new HashMap<>();
+    private final Map<String, Integer> departmentCodes = new HashMap<>();
+    private Object[] usersVersion;
+    private Instant usersLoadedAt;
+    private Instant checkedAt; // start of the last round that succeeded, or of its oldest in-flight write
+    private Instant loadedAt;
+
+    private volatile Directory directory =
+            new Directory(new int[0], new long[0], new String[0], Map.of(), Map.of(), List.of());
+    private volatile Tables tables = new Tables();
+    private volatile boolean ready;
+    private volatile Instant refreshedAt;
+
+    public TaskCube(TaskAnalyticsRepository facts,
+                    TaskRepository tasks,
+                    UserRepository users,
+                    PlatformTransactionManager txManager,
+                    MeterRegistry meters,
+                    @Value("${app.analytics.cube.enabled:true}") boolean enabled,
+                    @Value("${app.analytics.cube.poll-interval:PT15S}") Duration pollInterval,
+                    @Value("${app.analytics.cube.overlap:PT10S}") Duration overlap,
+                    @Value("${app.analytics.cube.reconcile-interval:PT1H}") Duration reconcileInterval) {
+        this.facts = facts;
+        this.tasks = tasks;
+        this.users = users;
+        this.tx = new TransactionTemplate(txManager);
+        this.tx.setReadOnly(true);
+        this.enabled = enabled;
+        this.pollInterval = pollInterval;
+        this.overlap = overlap;
+        this.reconcileInterval = reconcileInterval;
+
+        this.executor = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread t = new Thread(r, "task-cube-refresh");
+            t.setDaemon(true);
+            return t;
+        });
+
+        this.refreshes = Timer.builder("analytics.cube.refresh")
+                .description("Time to load or refresh the in-memory task cube")
+                .register(meters);
+        Gauge.builder("analytics.cube.tasks", this, c -> c.tables.columns.size())
+                .description("Task rows held by the in-memory analytics cube")
+                .register(meters);
+        Gauge.builder("analytics.cube.age", this,
+                        c -> c.refreshedAt == null ? 0 : Duration.between(c.refreshedAt, Instant.now()).toMillis() / 1000.0)
+                .description("Seconds since the analytics cube last caught up with the tasks table")
+                .baseUnit("seconds")
+                .register(meters);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) return;
+        executor.scheduleWithFixedDelay(this::sync, 0, pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /** True once the bulk load finished; before that (or when disabled) analytics run in SQL. */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /** A change just committed: catch up now rather than at the next poll. */
+    @Override
+    public void onTaskEvent(TaskEvent event) {
+        if (ready && wakeQueued.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                wakeQueued.set(false);
+                sync();
+            });
+        }
+    }
+
+    /** Same rows as {@link TaskAnalyticsRepository#facultyStats} for FACULTY users, from memory. */
+    public List<FacultyTaskStats> facultyStats(String department, Instant start, Instant end, Instant now) {
+        Directory d = directory;
+        TaskColumns.FacultyCounts c = tables.columns.facultyCounts(
+                start.toEpochMilli(), end.toEpochMilli(), now.toEpochMilli(), d.departmentOf().length);
+
+        List<FacultyTaskStats> out = new ArrayList<>(d.faculty().size());
+        for (Member m : d.faculty()) {
+            if (department != null && !department.equals(m.department())) continue;
+            int i = m.code();
+            long completed = c.completed()[i];
+            out.add(new FacultyTaskStats(m.id(), m.name(), m.email(), m.department(), m.joinedAt(),
+                    c.assigned()[i], completed, c.inProgress()[i], c.overdue()[i],
+                    completed == 0 ? null : (double) c.completionDays()[i] / completed));
+        }
+        return out;
+    }
+
+    /** Same buckets as the rollup's sumByPeriod, from memory and in any zone; empty buckets are left out. */
+    List<TrendBucket> trends(ZoneId zone, TrendGranularity granularity, LocalDate startDay, LocalDate endDay,
+                             String department) {
+        Directory d = directory;
+        int departmentCode = -1;
+        if (department != null) {
+            Integer code = d.departmentCodes().get(department);
+            if (code == null) return List.of();
+            departmentCode = code;
+        }
+        if (endDay.isBefore(startDay)) return List.of();
+
+        List<LocalDate> starts = new ArrayList<>();
+        for (LocalDate b = granularity.truncate(startDay); !b.isAfter(endDay); b = granularity.next(b)) starts.add(b);
+        long[] bounds = new long[starts.size() + 1];
+        for (int i = 0; i < starts.size(); i++) {
+            LocalDate from = starts.get(i).isBefore(startDay) ? startDay : starts.get(i);
+            bounds[i] = from.atStartOfDay(zone).toInstant().toEpochMilli();
+        }
+        bounds[starts.size()] = endDay.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+
+        long[][] counts = tables.columns.trendCounts(bounds, d.departmentOf(), departmentCode);
+        List<TrendBucket> out = new ArrayList<>();
+        for (int i = 0; i < starts.size(); i++) {
+            if (counts[0][i] == 0 && counts[1][i] == 0 && counts[2][i] == 0) continue;
+            out.add(new TrendBucket(starts.get(i), counts[0][i], counts[1][i], counts[2][i]));
+        }
+        return out;
+    }
+
+    /** Facet counts for the task list, or empty when SQL has to answer (not loaded, or a due-date filter). */
+    public Optional<TaskFacets> facets(TaskListQuery q, Long assigneeId) {
+        Directory d = directory;
+        Tables t = tables;
+        return filter(q, assigneeId, d, t).map(f -> {
+            TaskFacetIndex.Counts c = t.facetIndex.count(f);
+
+            Map<TaskStatus, Long> status = new EnumMap<>(TaskStatus.class);
+            for (TaskStatus s : TaskStatus.values()) status.put(s, c.status()[s.ordinal()]);
+            Map<String, Long> department = new TreeMap<>();
+            c.department().forEach((code, n) -> {
+                String name = d.departmentNames()[code];
+                if (!name.isEmpty()) department.put(name, n);
+            });
+            Map<Long, Long> assignee = null;
+            if (c.assignee() != null) {
+                assignee = new TreeMap<>();
+                for (Map.Entry<Integer, Long> e : c.assignee().entrySet()) {
+                    if (e.getKey() < d.userIdOf().length) assignee.put(d.userIdOf()[e.getKey()], e.getValue());
+                }
+            }
+            return new TaskFacets(c.total(), status, c.priority(), department, assignee);
+        });
+    }
+
+    /** Number of tasks the list query matches; empty when SQL has to answer. */
+    public OptionalLong count(TaskListQuery q, Long assigneeId) {
+        Tables t = tables;
+        return filter(q, assigneeId, directory, t)
+                .map(f -> OptionalLong.of(t.facetIndex.total(f)))
+                .orElse(OptionalLong.empty());
+    }
+
+    /** Up to {@code limit} matching task ids greater than {@code afterId}, ascending; empty when SQL has to answer. */
+    public Optional<List<Long>> ids(TaskListQuery q, Long assigneeId, long afterId, int limit) {
+        Tables t = tables;
+        return filter(q, assigneeId, directory, t).map(f -> t.facetIndex.ids(f, afterId, limit));
+    }
+
+    /** The list query in bitmap terms; due dates are ranges the bitmaps don't cover. */
+    private Optional<TaskFacetIndex.Filter> filter(TaskListQuery q, Long assigneeId, Directory d, Tables t) {
+        if (!ready || !t.facetsIndexed || q.getDueFrom() != null || q.getDueTo() != null) return Optional.empty();
+
+        boolean[] statuses = null;
+        if (q.getStatus() != null && !q.getStatus().isEmpty()) {
+            statuses = new boolean[TaskStatus.values().length];
+            for (TaskStatus s : q.getStatus()) statuses[s.ordinal()] = true;
+        }
+        int department = TaskFacetIndex.ANY;
+        if (q.getDepartment() != null && !q.getDepartment().isBlank()) {
+            department = d.departmentCodes().getOrDefault(q.getDepartment(), TaskFacetIndex.NONE);
+        }
+        return Optional.of(new TaskFacetIndex.Filter(statuses, q.getMinPriority(), q.getMaxPriority(),
+                department, userFilter(assigneeId, d), userFilter(q.getAssignedBy(), d)));
+    }
+
+    private static int userFilter(Long userId, Directory d) {
+        return userId == null ? TaskFacetIndex.ANY : d.userCodes().getOrDefault(userId, TaskFacetIndex.NONE);
+    }
+
+    private void sync() {
+        String round = !ready ? "load" : reconcileDue() ? "reconcile" : "refresh";
+        try {
+            refreshes.record(() -> tx.executeWithoutResult(status -> {
+                if (round.equals("refresh")) refresh();
+                else load();
+            }));
+            refreshedAt = Instant.now();
+        } catch (RuntimeException e) {
+            // a failed load or reconcile is simply redone, a failed refresh re-reads from the same point
+            log.warn("Task cube {} failed", round, e);
+        }
+    }
+
+    private boolean reconcileDue() {
+        return loadedAt.isBefore(Instant.now().minus(reconcileInterval));
+    }
+
+    /** Reads every task into fresh tables and swaps them in; the first load or a reconcile. */
+    private void load() {
+        reloadUsers(users.findUsersVersion().get(0));
+        Instant started = Instant.now();
+        Instant horizon = writeHorizon(started);
+        Tables fresh = new Tables();
+        try (Stream<TaskFact> all = facts.streamFacts()) {
+            all.forEach(f -> apply(fresh, f));
+        }
+        fresh.facetIndex.regroupDepartments(directory.departmentOf()); // users reloaded while streaming
+        tables = fresh;
+        checkedAt = horizon;
+        loadedAt = started;
+        if (!ready) log.info("Task cube loaded: {} tasks", fresh.columns.size());
+        ready = true;
+    }
+
+    private void refresh() {
+        Instant now = Instant.now();
+        Instant horizon = writeHorizon(now);
+        Object[] version = users.findUsersVersion().get(0);
+        if (!Arrays.equals(version, usersVersion) || usersLoadedAt.isBefore(now.minus(USERS_MAX_AGE))) {
+            reloadUsers(version);
+        }
+
+        Tables t = tables;
+        Instant since = checkedAt.minus(overlap);
+        facts.findFactsUpdatedAfter(since).forEach(f -> apply(t, f));
+        tasks.findTombstones(null, since, now).forEach(id -> remove(t, id));
+        checkedAt = horizon;
+    }
+
+    /** Where the next round has to start: now, or the start of a write that may still commit older rows. */
+    private Instant writeHorizon(Instant now) {
+        Instant oldest = tasks.findOldestWriteStart();
+        return oldest != null && oldest.isBefore(now) ? oldest : now;
+    }
+
+    private void apply(Tables t, TaskFact f) {
+        int assignee = f.assigneeId() == null ? TaskColumns.NO_ASSIGNEE : userCode(f.assigneeId());
+        int assigner = f.assignerId() == null ? TaskColumns.NO_ASSIGNEE : userCode(f.assignerId());
+        long created = f.createdAt() == null ? TaskColumns.UNKNOWN : f.createdAt().toEpochMilli();
+        t.columns.put(f.id(), f.status(), assignee, created,
+                f.dueAt() == null ? TaskColumns.NEVER : f.dueAt().toEpochMilli(),
+                f.updatedAt() == null ? created : f.updatedAt().toEpochMilli());
+
+        if (!facetIndexable(t, f.id())) return;
+        int[] departmentOf = directory.departmentOf();
+        int department = assignee >= 0 && assignee < departmentOf.length ? departmentOf[assignee] : -1;
+        t.facetIndex.put(f.id().intValue(), f.status(), f.priority(), assignee, assigner, department);
+    }
+
+    private void remove(Tables t, Long id) {
+        t.columns.remove(id);
+        if (facetIndexable(t, id)) t.facetIndex.remove(id.intValue());
+    }
+
+    private boolean facetIndexable(Tables t, long id) {
+        if (id <= Integer.MAX_VALUE) return t.facetsIndexed;
+        if (t.facetsIndexed) {
+            t.facetsIndexed = false;
+            log.warn("Task id {} exceeds the facet bitmaps' range; task facets fall back to SQL", id);
+        }
+        return false;
+    }
+
+    /** Code of an assignee; a user created since the last reload triggers one. */
+    private int userCode(Long userId) {
+        Integer code = userCodes.get(userId);
+        if (code == null) {
+            reloadUsers(null);
+            code = userCodes.computeIfAbsent(userId, id -> userCodes.size());
+        }
+        return code;
+    }
+
+    private void reloadUsers(Object[] version) {
+        List<User> all = users.findAll();
+        for (User u : all) {
+            userCodes.computeIfAbsent(u.getId(), id -> userCodes.size());
+            departmentCodes.computeIfAbsent(departmentOf(u), dept -> departmentCodes.size());
+        }
+
+        int[] departmentOf = new int[userCodes.size()];
+        Arrays.fill(departmentOf, -1);
+        long[] userIdOf = new long[userCodes.size()];
+        userCodes.forEach((id, code) -> userIdOf[code] = id);
+        String[] departmentNames = new String[departmentCodes.size()];
+        departmentCodes.forEach((dept, code) -> departmentNames[code] = dept);
+        List<Member> faculty = new ArrayList<>();
+        for (User u : all) {
+            int code = userCodes.get(u.getId());
+            departmentOf[code] = departmentCodes.get(departmentOf(u));
+            if (u.getRole() == Role.FACULTY) {
+                faculty.add(new Member(code, u.getId(), u.getName(), u.getEmail(), u.getDepartment(), u.getCreatedAt()));
+            }
+        }
+        faculty.sort(Comparator.comparing(Member::id));
+
+        directory = new Directory(departmentOf, userIdOf, departmentNames,
+                Map.copyOf(userCodes), Map.copyOf(departmentCodes), List.copyOf(faculty));
+        tables.facetIndex.regroupDepartments(departmentOf); // tasks follow their assignee between departments
+        usersVersion = version;
+        usersLoadedAt = Instant.now();
+    }
+
+    /** Tasks count toward their assignee's department; "" for users without one, as in the rollup. */
+    private static String departmentOf(User u) {
+        return u.getDepartment() != null ? u.getDepartment() : "";
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
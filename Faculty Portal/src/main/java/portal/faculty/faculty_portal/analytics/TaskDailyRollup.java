@@ -0,0 +1,47 @@
+package portal.faculty.faculty_portal.analytics;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Per-day task counters, keyed by the local creation day of the task (in {@code zone})
+ * and the assignee's department. Maintained by {@link TaskRollupService}.
+ */
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+@Entity @Table(name = "task_daily_rollup")
+public class TaskDailyRollup {
+
+    @EmbeddedId
+    private Key id;
+
+    /** Tasks created on this day. */
+    @Column(nullable = false)
+    private long assigned;
+
+    /** Of those, how many are currently COMPLETED. */
+    @Column(nullable = false)
+    private long completed;
+
+    /** Of those, how many are currently OVERDUE. */
+    @Column(nullable = false)
+    private long overdue;
+
+    @Embeddable
+    @Getter @Setter
+    @NoArgsConstructor @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        @Column(length = 64)
+        private String zone;
+
+        private LocalDate day;
+
+        @Column(length = 128)
+        private String department; // "" when the assignee has no department
+    }
+}
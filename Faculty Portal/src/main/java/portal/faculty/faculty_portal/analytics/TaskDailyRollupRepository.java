@@ -0,0 +1,74 @@
+package portal.faculty.faculty_portal.analytics;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface TaskDailyRollupRepository extends JpaRepository<TaskDailyRollup, TaskDailyRollup.Key> {
+
+    /** Adds the given deltas to a rollup row, creating it if needed. */
+    @Modifying
+    @Query(value = """
+            INSERT INTO task_daily_rollup (zone, day, department, assigned, completed, overdue)
+            VALUES (:zone, :day, :department, :assigned, :completed, :overdue)
+            ON CONFLICT (zone, day, department) DO UPDATE SET
+                assigned  = task_daily_rollup.assigned  + EXCLUDED.assigned,
+                completed = task_daily_rollup.completed + EXCLUDED.completed,
+                overdue   = task_daily_rollup.overdue   + EXCLUDED.overdue
+            """, nativeQuery = true)
+    void increment(@Param("zone") String zone,
+                   @Param("day") LocalDate day,
+                   @Param("department") String department,
+                   @Param("assigned") long assigned,
+                   @Param("completed") long completed,
+                   @Param("overdue") long overdue);
+
+    /** Blocks concurrent increments until the rebuilding transaction commits. */
+    @Modifying
+    @Query(value = "LOCK TABLE task_daily_rollup IN EXCLUSIVE MODE", nativeQuery = true)
+    void lockForRebuild();
+
+    @Modifying
+    @Query(value = "DELETE FROM task_daily_rollup WHERE zone = :zone", nativeQuery = true)
+    int deleteZone(@Param("zone") String zone);
+
+    /** Recomputes every rollup row of a zone from the tasks table. */
+    @Modifying
+    @Query(value = """
+            INSERT INTO task_daily_rollup (zone, day, department, assigned, completed, overdue)
+            SELECT :zone,
+                   CAST(t.created_at AT TIME ZONE :zone AS date),
+                   COALESCE(u.department, ''),
+                   COUNT(*),
+                   COUNT(*) FILTER (WHERE t.status = 'COMPLETED'),
+                   COUNT(*) FILTER (WHERE t.status = 'OVERDUE')
+            FROM tasks t
+            JOIN users u ON u.id = t.assigned_to_id
+            GROUP BY 2, 3
+            """, nativeQuery = true)
+    int rebuildZone(@Param("zone") String zone);
+
+    /**
+     * Sums rollup rows into buckets of the given unit ('day', 'week' or 'month').
+     * Each row is [bucket start (date), assigned, completed, overdue].
+     */
+    @Query(value = """
+            SELECT CAST(date_trunc(:unit, r.day) AS date) AS bucket,
+                   SUM(r.assigned), SUM(r.completed), SUM(r.overdue)
+            FROM task_daily_rollup r
+            WHERE r.zone = :zone
+              AND r.day BETWEEN :startDay AND :endDay
+              AND (CAST(:department AS varchar) IS NULL OR r.department = :department)
+            GROUP BY 1
+            ORDER BY 1
+            """, nativeQuery = true)
+    List<Object[]> sumByPeriod(@Param("zone") String zone,
+                               @Param("unit") String unit,
+                               @Param("startDay") LocalDate startDay,
+                               @Param("endDay") LocalDate endDay,
+                               @Param("department") String department);
+}
@@ -0,0 +1,251 @@
+package portal.faculty.faculty_portal.analytics;
+
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import portal.faculty.faculty_portal.task.TaskStatus;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Compressed (Roaring) bitmaps of task ids per status, priority, department, assignee and assigner, for
+ * facet counts and id paging by bitmap intersection. Assignees, assigners and departments are the
+ * cube's int codes.
+ * <p>
+ * Facets are disjunctive: a facet's counts apply every filter except its own, so selecting OVERDUE
+ * still shows what the other statuses would give. Written by the cube's refresh thread and read by
+ * request threads under a read/write lock; both sides only hold it for in-memory bitmap work.
+ */
+final class TaskFacetIndex {
+
+    /** Filter value matching every task. */
+    static final int ANY = -1;
+    /** Filter value matching no task (an unknown user or department). */
+    static final int NONE = -2;
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    /**
+     * A task list filter in index terms. {@code statuses} null = any; priority bounds are inclusive
+     * and optional; the codes are {@link #ANY}, {@link #NONE} or a cube code.
+     */
+    record Filter(boolean[] statuses, Integer minPriority, Integer maxPriority,
+                  int department, int assignee, int assigner) {}
+
+    /**
+     * Facet counts: per status ordinal, per priority, per department code and per assignee code
+     * (null when the filter fixes the assignee); values without tasks are left out of the maps.
+     */
+    record Counts(long total, long[] status, Map<Integer, Long> priority,
+                  Map<Integer, Long> department, Map<Integer, Long> assignee) {}
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final RoaringBitmap all = new RoaringBitmap();
+    private final RoaringBitmap[] byStatus = new RoaringBitmap[STATUSES.length];
+    private final TreeMap<Integer, RoaringBitmap> byPriority = new TreeMap<>();
+    private final Map<Integer, RoaringBitmap> byAssignee = new HashMap<>();
+    private final Map<Integer, RoaringBitmap> byAssigner = new HashMap<>();
+    private Map<Integer, RoaringBitmap> byDepartment = new HashMap<>();
+    // assignee code per task id (-1 = none): finds the old bitmap on changes and counts small sets per assignee
+    private int[] assigneeOf = new int[0];
+    private int assigneeBound; // highest assignee code + 1
+
+    TaskFacetIndex() {
+        for (int s = 0; s < byStatus.length; s++) byStatus[s] = new RoaringBitmap();
+    }
+
+    /** Indexes a new or changed task; codes below 0 mean none. */
+    void put(int id, TaskStatus status, Integer priority, int assignee, int assigner, int department) {
+        lock.writeLock().lock();
+        try {
+            if (!all.checkedAdd(id)) unindex(id);
+            if (id >= assigneeOf.length) {
+                int old = assigneeOf.length;
+                assigneeOf = Arrays.copyOf(assigneeOf, Math.max(id + 1, old * 2));
+                Arrays.fill(assigneeOf, old, assigneeOf.length, -1);
+            }
+            assigneeOf[id] = assignee;
+            assigneeBound = Math.max(assigneeBound, assignee + 1);
+            byStatus[status.ordinal()].add(id);
+            if (priority != null) byPriority.computeIfAbsent(priority, p -> new RoaringBitmap()).add(id);
+            if (assignee >= 0) byAssignee.computeIfAbsent(assignee, a -> new RoaringBitmap()).add(id);
+            if (assigner >= 0) byAssigner.computeIfAbsent(assigner, a -> new RoaringBitmap()).add(id);
+            if (department >= 0) byDepartment.computeIfAbsent(department, d -> new RoaringBitmap()).add(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Drops a deleted task. */
+    void remove(int id) {
+        lock.writeLock().lock();
+        try {
+            if (all.checkedRemove(id)) unindex(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Rebuilds the department bitmaps from the assignee ones after users moved between departments. */
+    void regroupDepartments(int[] departmentOf) {
+        Map<Integer, List<RoaringBitmap>> members = new HashMap<>();
+        lock.writeLock().lock();
+        try {
+            byAssignee.forEach((code, ids) -> {
+                if (code < departmentOf.length && departmentOf[code] >= 0) {
+                    members.computeIfAbsent(departmentOf[code], d -> new ArrayList<>()).add(ids);
+                }
+            });
+            Map<Integer, RoaringBitmap> regrouped = new HashMap<>();
+            members.forEach((d, bitmaps) -> regrouped.put(d, FastAggregation.or(bitmaps.iterator())));
+            byDepartment = regrouped;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Total and per-value counts under {@code f}. */
+    Counts count(Filter f) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap status = statusSet(f);
+            RoaringBitmap priority = prioritySet(f);
+            RoaringBitmap department = pick(byDepartment, f.department());
+            RoaringBitmap assignee = pick(byAssignee, f.assignee());
+            RoaringBitmap assigner = pick(byAssigner, f.assigner());
+
+            long total = cardinality(and(status, priority, department, assignee, assigner));
+
+            RoaringBitmap base = and(priority, department, assignee, assigner);
+            long[] byStatusCount = new long[STATUSES.length];
+            for (int s = 0; s < STATUSES.length; s++) byStatusCount[s] = cardinality(base, byStatus[s]);
+
+            Map<Integer, Long> byPriorityCount = counts(byPriority, and(status, department, assignee, assigner));
+            Map<Integer, Long> byDepartmentCount = counts(byDepartment, and(status, priority, assignee, assigner));
+            Map<Integer, Long> byAssigneeCount = f.assignee() == ANY
+                    ? assigneeCounts(and(status, priority, department, assigner))
+                    : null;
+            return new Counts(total, byStatusCount, byPriorityCount, byDepartmentCount, byAssigneeCount);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Number of tasks matching {@code f}. */
+    long total(Filter f) {
+        lock.readLock().lock();
+        try {
+            return cardinality(and(statusSet(f), prioritySet(f), pick(byDepartment, f.department()),
+                    pick(byAssignee, f.assignee()), pick(byAssigner, f.assigner())));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Up to {@code limit} ids matching {@code f} greater than {@code afterId}, ascending. */
+    List<Long> ids(Filter f, long afterId, int limit) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap matching = and(statusSet(f), prioritySet(f), pick(byDepartment, f.department()),
+                    pick(byAssignee, f.assignee()), pick(byAssigner, f.assigner()));
+            if (matching == null) matching = all;
+            List<Long> out = new ArrayList<>(limit);
+            if (afterId >= Integer.MAX_VALUE) return out;
+            PeekableIntIterator it = matching.getIntIterator();
+            it.advanceIfNeeded((int) Math.max(afterId + 1, 0));
+            while (it.hasNext() && out.size() < limit) out.add(Integer.toUnsignedLong(it.next()));
+            return out;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void unindex(int id) {
+        for (RoaringBitmap ids : byStatus) ids.remove(id);
+        for (RoaringBitmap ids : byPriority.values()) ids.remove(id);
+        for (RoaringBitmap ids : byAssigner.values()) ids.remove(id);
+        for (RoaringBitmap ids : byDepartment.values()) ids.remove(id);
+        RoaringBitmap assigned = byAssignee.get(assigneeOf[id]);
+        if (assigned != null) assigned.remove(id);
+        assigneeOf[id] = -1;
+    }
+
+    /**
+     * Per-assignee counts within {@code base}: with thousands of assignees, walking a filtered set
+     * beats intersecting it with every assignee's bitmap.
+     */
+    private Map<Integer, Long> assigneeCounts(RoaringBitmap base) {
+        if (base == null || base.getLongCardinality() > (long) byAssignee.size() * 64) {
+            return counts(byAssignee, base);
+        }
+        long[] counts = new long[assigneeBound];
+        base.forEach((int id) -> {
+            int a = assigneeOf[id];
+            if (a >= 0) counts[a]++;
+        });
+        Map<Integer, Long> out = new HashMap<>();
+        for (int a = 0; a < counts.length; a++) if (counts[a] > 0) out.put(a, counts[a]);
+        return out;
+    }
+
+    private RoaringBitmap statusSet(Filter f) {
+        if (f.statuses() == null) return null;
+        List<RoaringBitmap> selected = new ArrayList<>();
+        for (int s = 0; s < STATUSES.length; s++) if (f.statuses()[s]) selected.add(byStatus[s]);
+        return union(selected);
+    }
+
+    private RoaringBitmap prioritySet(Filter f) {
+        if (f.minPriority() == null && f.maxPriority() == null) return null;
+        int min = f.minPriority() != null ? f.minPriority() : Integer.MIN_VALUE;
+        int max = f.maxPriority() != null ? f.maxPriority() : Integer.MAX_VALUE;
+        if (min > max) return new RoaringBitmap();
+        return union(new ArrayList<>(byPriority.subMap(min, true, max, true).values()));
+    }
+
+    /** Union of the sets; a single one is used as it is (callers never modify the result). */
+    private static RoaringBitmap union(List<RoaringBitmap> sets) {
+        return sets.size() == 1 ? sets.get(0) : FastAggregation.or(sets.iterator());
+    }
+
+    private static RoaringBitmap pick(Map<Integer, RoaringBitmap> bitmaps, int code) {
+        if (code == ANY) return null;
+        RoaringBitmap ids = bitmaps.get(code);
+        return ids != null ? ids : new RoaringBitmap();
+    }
+
+    /** Intersection of the non-null sets, smallest first; null (= every task) when all are null. */
+    private static RoaringBitmap and(RoaringBitmap... sets) {
+        List<RoaringBitmap> given = new ArrayList<>(sets.length);
+        for (RoaringBitmap s : sets) if (s != null) given.add(s);
+        if (given.isEmpty()) return null;
+        given.sort(Comparator.comparingLong(RoaringBitmap::getLongCardinality));
+        RoaringBitmap out = given.get(0);
+        for (int i = 1; i < given.size() && !out.isEmpty(); i++) out = RoaringBitmap.and(out, given.get(i));
+        return out;
+    }
+
+    private long cardinality(RoaringBitmap set) {
+        return set == null ? all.getLongCardinality() : set.getLongCardinality();
+    }
+
+    private static long cardinality(RoaringBitmap base, RoaringBitmap values) {
+        return base == null ? values.getLongCardinality() : RoaringBitmap.andCardinality(base, values);
+    }
+
+    private static <K> Map<K, Long> counts(Map<K, RoaringBitmap> bitmaps, RoaringBitmap base) {
+        Map<K, Long> out = bitmaps instanceof TreeMap ? new TreeMap<>() : new HashMap<>();
+        bitmaps.forEach((value, ids) -> {
+            long n = cardinality(base, ids);
+            if (n > 0) out.put(value, n);
+        });
+        return out;
+    }
+}
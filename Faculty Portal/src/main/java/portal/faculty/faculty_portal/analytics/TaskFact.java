@@ -0,0 +1,17 @@
+package portal.faculty.faculty_portal.analytics;
+
+import portal.faculty.faculty_portal.task.TaskStatus;
+
+import java.time.Instant;
+
+/** The columns of a task the analytics cube keeps. */
+public record TaskFact(
+        Long id,
+        TaskStatus status,
+        Integer priority,
+        Long assigneeId,
+        Long assignerId,
+        Instant createdAt,
+        Instant dueAt,
+        Instant updatedAt
+) {}
@@ -0,0 +1,32 @@
+package portal.faculty.faculty_portal.analytics;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.stereotype.Component;
+import portal.faculty.faculty_portal.task.TaskRepository;
+
+/**
+ * Backfills the daily rollup on startup when it is empty, or rebuilds it when the
+ * application is started with {@code --rebuild-task-rollup}.
+ * Runs before scheduled jobs start so the overdue sweep can't write into an empty rollup first.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TaskRollupBackfill implements SmartInitializingSingleton {
+
+    private final TaskRollupService rollupService;
+    private final TaskRepository tasks;
+    private final ApplicationArguments args;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        boolean forced = args.containsOption("rebuild-task-rollup");
+        if (forced || (rollupService.isEmpty() && tasks.count() > 0)) {
+            int rows = rollupService.rebuild();
+            log.info("Rebuilt task_daily_rollup: {} rows", rows);
+        }
+    }
+}
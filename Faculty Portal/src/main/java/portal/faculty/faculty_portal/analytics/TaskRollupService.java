@@ -0,0 +1,133 @@
+package portal.faculty.faculty_portal.analytics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import portal.faculty.faculty_portal.task.OverdueFlip;
+import portal.faculty.faculty_portal.task.Task;
+import portal.faculty.faculty_portal.task.TaskStatus;
+import portal.faculty.faculty_portal.task.TaskTransition;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps {@code task_daily_rollup} in step with task mutations.
+ * Callers must already be inside the transaction that changes the task, so the
+ * counters commit (or roll back) together with it.
+ */
+@Service
+public class TaskRollupService {
+
+    private final TaskDailyRollupRepository rollups;
+    private final List<ZoneId> zones;
+
+    public TaskRollupService(TaskDailyRollupRepository rollups,
+                             @Value("${app.analytics.rollup-zones:UTC}") List<String> zones) {
+        this.rollups = rollups;
+        this.zones = zones.stream().map(String::trim).map(ZoneId::of).toList();
+    }
+
+    /** Zones the rollup is maintained in; the first one is the default for trend queries. */
+    public List<ZoneId> zones() {
+        return zones;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(Task t) {
+        apply(t, 1, isCompleted(t.getStatus()), isOverdue(t.getStatus()));
+    }
+
+    /** Counts a batch of freshly assigned (open) tasks with one upsert per (day, department) instead of one per task. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(List<Task> created) {
+        for (ZoneId zone : zones) {
+            Map<TaskDailyRollup.Key, Long> perDay = created.stream().collect(Collectors.groupingBy(
+                    t -> new TaskDailyRollup.Key(zone.getId(),
+                            (t.getCreatedAt() != null ? t.getCreatedAt() : Instant.now()).atZone(zone).toLocalDate(),
+                            t.getAssignedTo().getDepartment() != null ? t.getAssignedTo().getDepartment() : ""),
+                    Collectors.counting()));
+            perDay.forEach((k, n) -> rollups.increment(k.getZone(), k.getDay(), k.getDepartment(), n, 0, 0));
+        }
+    }
+
+    /**
+     * Counts status changes made by guarded UPDATEs (which never load the entity), with one upsert
+     * per (zone, day, department) for the whole batch.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordTransitions(List<TaskTransition> done) {
+        for (ZoneId zone : zones) {
+            Map<TaskDailyRollup.Key, int[]> perDay = new HashMap<>();
+            for (TaskTransition t : done) {
+                int completed = isCompleted(t.to()) - isCompleted(t.from());
+                int overdue = isOverdue(t.to()) - isOverdue(t.from());
+                if (completed == 0 && overdue == 0) continue;
+                int[] delta = perDay.computeIfAbsent(new TaskDailyRollup.Key(zone.getId(),
+                        (t.createdAt() != null ? t.createdAt() : Instant.now()).atZone(zone).toLocalDate(),
+                        t.department() != null ? t.department() : ""), k -> new int[2]);
+                delta[0] += completed;
+                delta[1] += overdue;
+            }
+            perDay.forEach((k, d) -> {
+                if (d[0] != 0 || d[1] != 0) rollups.increment(k.getZone(), k.getDay(), k.getDepartment(), 0, d[0], d[1]);
+            });
+        }
+    }
+
+    /** Counts tasks the bulk overdue sweep just flipped, with one upsert per (day, department). */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordOverdue(List<OverdueFlip> flipped) {
+        for (ZoneId zone : zones) {
+            Map<TaskDailyRollup.Key, Long> perDay = flipped.stream().collect(Collectors.groupingBy(
+                    f -> new TaskDailyRollup.Key(zone.getId(), f.createdAt().atZone(zone).toLocalDate(),
+                            f.department() != null ? f.department() : ""),
+                    Collectors.counting()));
+            perDay.forEach((k, n) -> rollups.increment(k.getZone(), k.getDay(), k.getDepartment(), 0, 0, n));
+        }
+    }
+
+    /** Drops and recomputes all rollup rows from the tasks table. */
+    @Transactional
+    public int rebuild() {
+        rollups.lockForRebuild();
+        int rows = 0;
+        for (ZoneId zone : zones) {
+            rollups.deleteZone(zone.getId());
+            rows += rollups.rebuildZone(zone.getId());
+        }
+        return rows;
+    }
+
+    public boolean isEmpty() {
+        return rollups.count() == 0;
+    }
+
+    private void apply(Task t, int assigned, int completed, int overdue) {
+        apply(t.getCreatedAt(), t.getAssignedTo().getDepartment(), assigned, completed, overdue);
+    }
+
+    private void apply(Instant createdAt, String department, int assigned, int completed, int overdue) {
+        if (assigned == 0 && completed == 0 && overdue == 0) return;
+
+        if (createdAt == null) createdAt = Instant.now();
+        if (department == null) department = "";
+        for (ZoneId zone : zones) {
+            rollups.increment(zone.getId(), createdAt.atZone(zone).toLocalDate(), department,
+                    assigned, completed, overdue);
+        }
+    }
+
+    private static int isCompleted(TaskStatus s) {
+        return s == TaskStatus.COMPLETED ? 1 : 0;
+    }
+
+    private static int isOverdue(TaskStatus s) {
+        return s == TaskStatus.OVERDUE ? 1 : 0;
+    }
+}
@@ -0,0 +1,6 @@
+package portal.faculty.faculty_portal.analytics;
+
+import java.time.LocalDate;
+
+/** Task counters of one trend bucket (tasks created in it), from the rollup or the cube. */
+record TrendBucket(LocalDate start, long assigned, long completed, long overdue) {}
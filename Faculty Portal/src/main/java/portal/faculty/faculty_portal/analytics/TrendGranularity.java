@@ -0,0 +1,36 @@
+package portal.faculty.faculty_portal.analytics;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/** Bucket size for task trends; {@link #unit} is the PostgreSQL date_trunc field. */
+public enum TrendGranularity {
+    DAY("day"),
+    WEEK("week"),
+    MONTH("month");
+
+    final String unit;
+
+    TrendGranularity(String unit) {
+        this.unit = unit;
+    }
+
+    /** First day of the bucket containing {@code day}, like date_trunc (weeks start on Monday). */
+    LocalDate truncate(LocalDate day) {
+        return switch (this) {
+            case DAY -> day;
+            case WEEK -> day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> day.withDayOfMonth(1);
+        };
+    }
+
+    /** First day of the bucket after the one starting at {@code bucketStart}. */
+    LocalDate next(LocalDate bucketStart) {
+        return switch (this) {
+            case DAY -> bucketStart.plusDays(1);
+            case WEEK -> bucketStart.plusWeeks(1);
+            case MONTH -> bucketStart.plusMonths(1);
+        };
+    }
+}
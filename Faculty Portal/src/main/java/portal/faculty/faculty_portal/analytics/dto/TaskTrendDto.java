@@ -3,10 +3,13 @@ package portal.faculty.faculty_portal.analytics.dto;
 import lombok.Builder;
 import lombok.Data;
 
+import java.time.LocalDate;
+
 @Data
 @Builder
 public class TaskTrendDto {
-    private String month;
+    private String month;        // bucket label, e.g. "Oct 2025" or "2025-10-06"
+    private LocalDate periodStart;
     private Integer assigned;
     private Integer completed;
     private Integer overdue;
@@ -1,14 +1,20 @@
 package portal.faculty.faculty_portal.auth.dto;
 
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.http.ResponseEntity;
 import portal.faculty.faculty_portal.security.JwtService;
+import portal.faculty.faculty_portal.security.LoginThrottle;
+import portal.faculty.faculty_portal.security.PasswordHashingExecutor;
+import portal.faculty.faculty_portal.security.TokenDenylist;
 import portal.faculty.faculty_portal.user.User; // <-- your domain User
 import portal.faculty.faculty_portal.user.Role; // <-- whatever holds HOD/FACULTY
 
@@ -19,12 +25,29 @@ public class AuthController {
 
     private final AuthenticationManager authenticationManager;
     private final JwtService jwtService;
+    private final TokenDenylist denylist;
+    private final LoginThrottle loginThrottle;
+    private final PasswordHashingExecutor passwordHashing;
 
+    /**
+     * Password check runs on the bounded hashing pool; throttled or queued-out attempts get 429.
+     */
     @PostMapping("/login")
-    public TokenResponse login(@RequestBody LoginRequest body) {
-        Authentication auth = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(body.getEmail(), body.getPassword())
-        );
+    public TokenResponse login(@RequestBody LoginRequest body, HttpServletRequest request) {
+        String ip = request.getRemoteAddr();
+        loginThrottle.check(body.getEmail(), ip);
+
+        Authentication auth;
+        try {
+            auth = passwordHashing.run(() -> authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(body.getEmail(), body.getPassword())
+            ));
+        } catch (AuthenticationException e) {
+            loginThrottle.recordFailure(body.getEmail(), ip);
+            throw e;
+        }
+        loginThrottle.recordSuccess(body.getEmail());
+
         UserDetails principal = (UserDetails) auth.getPrincipal();
         String token = jwtService.generateToken((User) principal);
         return new TokenResponse(token);
@@ -39,6 +62,13 @@ public class AuthController {
         return new MeResponse(user.getId(), user.getName(), user.getEmail(), user.getRole().name());
     }
 
+    /** Revokes every token of the current user (all devices). */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@AuthenticationPrincipal User user) {
+        denylist.revokeAll(user.getId());
+        return ResponseEntity.noContent().build();
+    }
+
     @Data
     public static class LoginRequest {
         private String email;
@@ -0,0 +1,23 @@
+package portal.faculty.faculty_portal.common;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/** Defers side effects (timers, pushes) until the surrounding transaction has committed. */
+public final class AfterCommit {
+    private AfterCommit() {}
+
+    /** Runs {@code action} after the current transaction commits (never on rollback), or right away outside one. */
+    public static void run(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
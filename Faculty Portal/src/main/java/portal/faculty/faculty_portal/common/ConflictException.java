@@ -0,0 +1,9 @@
+package portal.faculty.faculty_portal.common;
+
+/** The resource moved on since the caller last saw it (e.g. a task already started or reviewed); rendered as 409. */
+public class ConflictException extends RuntimeException {
+
+    public ConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,20 @@
+package portal.faculty.faculty_portal.common;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Strong ETags built from what versions a response (update timestamps, counts, the query string),
+ * so {@code If-None-Match} can be answered before anything is loaded or serialized.
+ */
+public final class ETags {
+    private ETags() {}
+
+    public static String of(Object... parts) {
+        String joined = Arrays.stream(parts).map(String::valueOf).collect(Collectors.joining("|"));
+        return "\"" + DigestUtils.md5DigestAsHex(joined.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
@@ -0,0 +1,22 @@
+package portal.faculty.faculty_portal.common;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/** A named, time-bounded lock row used to run a scheduled job on only one node. */
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Entity @Table(name = "job_leases")
+public class JobLease {
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(nullable = false, length = 128)
+    private String owner;
+
+    @Column(nullable = false)
+    private Instant leaseUntil;
+}
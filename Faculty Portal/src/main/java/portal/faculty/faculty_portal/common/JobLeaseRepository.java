@@ -0,0 +1,27 @@
+package portal.faculty.faculty_portal.common;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+
+public interface JobLeaseRepository extends JpaRepository<JobLease, String> {
+
+    /**
+     * Takes (or renews) the lease if it is free, expired, or already ours.
+     * Returns 1 when acquired, 0 when another owner holds a live lease.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO job_leases (name, owner, lease_until)
+            VALUES (:name, :owner, :until)
+            ON CONFLICT (name) DO UPDATE SET owner = EXCLUDED.owner, lease_until = EXCLUDED.lease_until
+            WHERE job_leases.lease_until < :now OR job_leases.owner = EXCLUDED.owner
+            """, nativeQuery = true)
+    int tryAcquire(@Param("name") String name,
+                   @Param("owner") String owner,
+                   @Param("now") Instant now,
+                   @Param("until") Instant until);
+}
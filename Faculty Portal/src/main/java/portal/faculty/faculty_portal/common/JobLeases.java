@@ -0,0 +1,31 @@
+package portal.faculty.faculty_portal.common;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * DB-backed leases so that, with several app nodes, a scheduled job runs on one node per interval.
+ * A node keeps the lease for {@code ttl}; other nodes skip the job until it expires.
+ */
+@Component
+@RequiredArgsConstructor
+public class JobLeases {
+
+    /** Identifies this JVM as a lease owner. */
+    private final String owner = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID();
+
+    private final JobLeaseRepository leases;
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean tryAcquire(String name, Duration ttl) {
+        Instant now = Instant.now();
+        return leases.tryAcquire(name, owner, now, now.plus(ttl)) == 1;
+    }
+}
@@ -0,0 +1,50 @@
+package portal.faculty.faculty_portal.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import portal.faculty.faculty_portal.search.dto.SearchPage;
+import portal.faculty.faculty_portal.search.dto.SearchQuery;
+import portal.faculty.faculty_portal.task.dto.TaskView;
+import portal.faculty.faculty_portal.user.Role;
+import portal.faculty.faculty_portal.user.User;
+import portal.faculty.faculty_portal.user.dto.PortfolioView;
+
+import java.util.List;
+
+import static portal.faculty.faculty_portal.task.TaskController.NEXT_CURSOR_HEADER;
+
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+public class SearchController {
+
+    private final SearchService service;
+
+    /**
+     * Ranked search over task titles and descriptions: the caller's own tasks (FACULTY) or all (HOD).
+     * The cursor for the next page is returned in X-Next-Cursor (absent on the last page).
+     */
+    @GetMapping("/tasks")
+    public ResponseEntity<List<TaskView>> searchTasks(SearchQuery query, Authentication auth) {
+        User requester = (User) auth.getPrincipal();
+        boolean isHod = requester.getRole() == Role.HOD;
+
+        return toResponse(service.searchTasks(query, isHod ? null : requester.getId()));
+    }
+
+    /** Ranked search over portfolio research interests, bio and achievements; paged like {@link #searchTasks}. */
+    @GetMapping("/portfolios")
+    public ResponseEntity<List<PortfolioView>> searchPortfolios(SearchQuery query) {
+        return toResponse(service.searchPortfolios(query));
+    }
+
+    private static <T> ResponseEntity<List<T>> toResponse(SearchPage<T> page) {
+        ResponseEntity.BodyBuilder res = ResponseEntity.ok();
+        if (page.nextCursor() != null) res.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        return res.body(page.items());
+    }
+}
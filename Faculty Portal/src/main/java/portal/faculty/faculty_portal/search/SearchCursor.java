@@ -0,0 +1,32 @@
+package portal.faculty.faculty_portal.search;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position after the last hit of a search page: its rank and id (results run rank desc, id desc).
+ * Serialized as an opaque base64url token; clients must pass it back unchanged.
+ */
+record SearchCursor(float rank, long id) {
+
+    /** Sorts before every real hit, so the first page needs no special case in SQL. */
+    static final SearchCursor FIRST = new SearchCursor(Float.MAX_VALUE, Long.MAX_VALUE);
+
+    String encode() {
+        String raw = Float.floatToIntBits(rank) + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Returns {@link #FIRST} for a missing cursor. */
+    static SearchCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) return FIRST;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int bar = raw.indexOf('|');
+            return new SearchCursor(Float.intBitsToFloat(Integer.parseInt(raw.substring(0, bar))),
+                    Long.parseLong(raw.substring(bar + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
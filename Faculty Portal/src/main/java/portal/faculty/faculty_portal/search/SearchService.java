@@ -0,0 +1,94 @@
+package portal.faculty.faculty_portal.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import portal.faculty.faculty_portal.search.dto.SearchPage;
+import portal.faculty.faculty_portal.search.dto.SearchQuery;
+import portal.faculty.faculty_portal.task.TaskReadRepository;
+import portal.faculty.faculty_portal.task.TaskRepository;
+import portal.faculty.faculty_portal.task.dto.TaskView;
+import portal.faculty.faculty_portal.user.UserPortfolioRepository;
+import portal.faculty.faculty_portal.user.UserPortfolioService;
+import portal.faculty.faculty_portal.user.dto.PortfolioView;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Ranked full-text search over tasks and portfolios. Each page is two indexed queries: the hit ids
+ * in rank order from the GIN index, then the views of just those ids.
+ */
+@Service
+@RequiredArgsConstructor
+public class SearchService {
+
+    static final int MAX_TERMS = 8;
+    private static final Pattern TERM = Pattern.compile("[\\p{L}\\p{N}]+");
+
+    private final TaskRepository tasks;
+    private final TaskReadRepository taskViews;
+    private final UserPortfolioRepository portfolios;
+    private final UserPortfolioService portfolioService;
+
+    /** Tasks matching {@code q.q}; {@code assigneeId} null = all tasks (HOD), else only that user's. */
+    @Transactional(readOnly = true)
+    public SearchPage<TaskView> searchTasks(SearchQuery q, Long assigneeId) {
+        String query = toTsQuery(q.getQ());
+        SearchCursor after = SearchCursor.decode(q.getCursor());
+        int limit = q.effectiveLimit();
+
+        List<Object[]> hits = tasks.search(query, assigneeId, after.rank(), after.id(), limit + 1);
+        return page(hits, limit, taskViews::findViews, TaskView::getId);
+    }
+
+    /** Portfolios matching {@code q.q}; portfolios are public, so everyone sees every hit. */
+    @Transactional(readOnly = true)
+    public SearchPage<PortfolioView> searchPortfolios(SearchQuery q) {
+        String query = toTsQuery(q.getQ());
+        SearchCursor after = SearchCursor.decode(q.getCursor());
+        int limit = q.effectiveLimit();
+
+        List<Object[]> hits = portfolios.search(query, after.rank(), after.id(), limit + 1);
+        return page(hits, limit, portfolioService::findViews, PortfolioView::getId);
+    }
+
+    /**
+     * Turns free text into a prefix-matching tsquery: every word must match, as a word prefix
+     * ("data min" -> "data:* & min:*"). Only letters and digits survive, so user input can never
+     * produce tsquery syntax errors.
+     */
+    static String toTsQuery(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text != null) {
+            Matcher m = TERM.matcher(text);
+            while (m.find() && terms.size() < MAX_TERMS) terms.add(m.group().toLowerCase(Locale.ROOT) + ":*");
+        }
+        if (terms.isEmpty()) throw new IllegalArgumentException("Search text must contain a letter or digit");
+        return String.join(" & ", terms);
+    }
+
+    /** Trims the look-ahead row into a cursor and loads the views, keeping rank order. */
+    private static <T> SearchPage<T> page(List<Object[]> hits, int limit,
+                                          Function<List<Long>, List<T>> load, Function<T, Long> idOf) {
+        String next = null;
+        if (hits.size() > limit) {
+            hits = hits.subList(0, limit);
+            Object[] last = hits.get(limit - 1);
+            next = new SearchCursor(((Number) last[1]).floatValue(), ((Number) last[0]).longValue()).encode();
+        }
+        List<Long> ids = hits.stream().map(h -> ((Number) h[0]).longValue()).toList();
+
+        Map<Long, T> byId = new HashMap<>();
+        for (T view : load.apply(ids)) byId.put(idOf.apply(view), view);
+        List<T> items = ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+        return new SearchPage<>(items, next);
+    }
+}
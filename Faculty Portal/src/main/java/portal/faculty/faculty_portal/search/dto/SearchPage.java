@@ -0,0 +1,6 @@
+package portal.faculty.faculty_portal.search.dto;
+
+import java.util.List;
+
+/** One keyset page of search hits, best match first; {@code nextCursor} is null on the last page. */
+public record SearchPage<T>(List<T> items, String nextCursor) {}
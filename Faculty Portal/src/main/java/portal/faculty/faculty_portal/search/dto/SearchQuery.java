@@ -0,0 +1,19 @@
+package portal.faculty.faculty_portal.search.dto;
+
+import lombok.Data;
+
+/** Query parameters of GET /api/search/tasks and /api/search/portfolios. */
+@Data
+public class SearchQuery {
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    private String q;                 // words to match; the last one may be a prefix ("accred")
+    private String cursor;            // X-Next-Cursor of the previous page
+    private Integer limit;
+
+    public int effectiveLimit() {
+        if (limit == null || limit <= 0) return DEFAULT_LIMIT;
+        return Math.min(limit, MAX_LIMIT);
+    }
+}
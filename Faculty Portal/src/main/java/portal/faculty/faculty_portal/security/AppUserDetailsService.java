@@ -2,19 +2,34 @@ package portal.faculty.faculty_portal.security;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import portal.faculty.faculty_portal.user.User;
 import portal.faculty.faculty_portal.user.UserRepository;
 
 @Service
 @RequiredArgsConstructor
-public class AppUserDetailsService implements UserDetailsService {
+public class AppUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository users;
 
     @Override
     public UserDetails loadUserByUsername(String username) {
         // username = email in our app
-        return users.findByEmail(username).orElseThrow();
+        return users.findByEmail(username)
+                .orElseThrow(() -> new UsernameNotFoundException("Unknown user"));
     }
-}
\ No newline at end of file
+
+    /** Called after a successful login when the stored hash uses an older BCrypt cost. */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        User u = (User) user;
+        users.updatePassword(u.getId(), newPassword);
+        u.setPassword(newPassword);
+        return u;
+    }
+}
@@ -1,54 +1,124 @@
 package portal.faculty.faculty_portal.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import portal.faculty.faculty_portal.user.Role;
 import portal.faculty.faculty_portal.user.User;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Date;
+import java.util.HexFormat;
 
 @Service
 public class JwtService {
 
+    static final String USER_ID = "uid";
+    static final String ROLE = "role";
+    static final String NAME = "name";
+    static final String DEPARTMENT = "dept";
+    static final String VERSION = "ver";
+
     private final SecretKey key;
+    private final JwtParser parser;
     private final long expirationMs;
 
+    /** Already-verified tokens by SHA-256, so repeat requests skip parsing and the HMAC check. */
+    private final Cache<String, Verified> verified;
+
+    private record Verified(User principal, Instant expiresAt) {}
+
     public JwtService(
             @Value("${app.jwt.secret}") String secret,
-            @Value("${app.jwt.expiration-minutes}") long minutes
+            @Value("${app.jwt.expiration-minutes}") long minutes,
+            @Value("${app.jwt.cache.max-size:10000}") long cacheSize,
+            @Value("${app.jwt.cache.ttl:PT5M}") Duration cacheTtl,
+            MeterRegistry meters
     ) {
         this.key = deriveHmacKey(secret);      // <-- no Base64 decode here
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
         this.expirationMs = minutes * 60_000;
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfter(Expiry.creating((String hash, Verified v) -> {
+                    // never outlive the token itself
+                    Duration left = Duration.between(Instant.now(), v.expiresAt());
+                    return left.compareTo(cacheTtl) < 0 ? left : cacheTtl;
+                }))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meters, verified, "jwt.verified");
     }
 
     public String generateToken(User user) {
         Instant now = Instant.now();
         return Jwts.builder()
                 .setSubject(user.getEmail())
-                .claim("role", user.getRole().name())
-                .claim("name", user.getName())
+                .claim(USER_ID, user.getId())
+                .claim(ROLE, user.getRole().name())
+                .claim(NAME, user.getName())
+                .claim(DEPARTMENT, user.getDepartment())
+                .claim(VERSION, user.getTokenVersion())
                 .setIssuedAt(Date.from(now))
                 .setExpiration(Date.from(now.plusMillis(expirationMs)))
                 .signWith(key, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    public String extractUsername(String token) {
-        return Jwts.parserBuilder().setSigningKey(key).build()
-                .parseClaimsJws(token).getBody().getSubject();
+    /**
+     * Verifies signature and expiry (or finds the token already verified) and rebuilds the caller from the claims.
+     * The returned {@link User} is detached and has no password; it is only good as a principal
+     * or as a reference to the row (e.g. assignedBy).
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is invalid or expired
+     * @throws IllegalArgumentException if it was issued before the identity claims existed
+     */
+    public User parsePrincipal(String token) {
+        String hash = sha256(token);
+        Verified hit = verified.getIfPresent(hash);
+        if (hit != null && hit.expiresAt().isAfter(Instant.now())) {
+            return hit.principal();
+        }
+
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        Long id = claims.get(USER_ID, Long.class);
+        String role = claims.get(ROLE, String.class);
+        if (id == null || role == null) throw new IllegalArgumentException("Token lacks identity claims");
+
+        Integer version = claims.get(VERSION, Integer.class);
+        User principal = User.builder()
+                .id(id)
+                .email(claims.getSubject())
+                .name(claims.get(NAME, String.class))
+                .role(Role.valueOf(role))
+                .department(claims.get(DEPARTMENT, String.class))
+                .tokenVersion(version == null ? 0 : version)
+                .build();
+        verified.put(hash, new Verified(principal, claims.getExpiration().toInstant()));
+        return principal;
     }
 
-    public boolean isValid(String token, String expectedUsername) {
-        var claims = Jwts.parserBuilder().setSigningKey(key).build()
-                .parseClaimsJws(token).getBody();
-        return expectedUsername.equals(claims.getSubject())
-                && claims.getExpiration().after(new Date());
+    private static String sha256(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(digest);
+        } catch (Exception e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
     }
 
     private static SecretKey deriveHmacKey(String secret) {
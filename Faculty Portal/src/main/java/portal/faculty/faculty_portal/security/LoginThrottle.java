@@ -0,0 +1,73 @@
+package portal.faculty.faculty_portal.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts failed logins per account and per client IP over a sliding window
+ * (each failure restarts it). Once either limit is hit, further attempts are refused
+ * without touching BCrypt until the window passes. A successful login clears the account count.
+ */
+@Component
+public class LoginThrottle {
+
+    private final int maxAccountFailures;
+    private final int maxIpFailures;
+    private final Duration window;
+
+    private final Cache<String, AtomicInteger> accountFailures;
+    private final Cache<String, AtomicInteger> ipFailures;
+
+    public LoginThrottle(@Value("${app.security.login.max-account-failures:5}") int maxAccountFailures,
+                         @Value("${app.security.login.max-ip-failures:50}") int maxIpFailures,
+                         @Value("${app.security.login.failure-window:PT15M}") Duration window) {
+        this.maxAccountFailures = maxAccountFailures;
+        this.maxIpFailures = maxIpFailures;
+        this.window = window;
+        this.accountFailures = Caffeine.newBuilder().expireAfterWrite(window).maximumSize(100_000).build();
+        this.ipFailures = Caffeine.newBuilder().expireAfterWrite(window).maximumSize(100_000).build();
+    }
+
+    /** @throws LoginThrottledException if the account or the IP is currently locked out */
+    public void check(String email, String ip) {
+        refuseIfOver(accountFailures, account(email), maxAccountFailures, "Too many failed logins for this account");
+        refuseIfOver(ipFailures, ip, maxIpFailures, "Too many failed logins from this address");
+    }
+
+    public void recordFailure(String email, String ip) {
+        increment(accountFailures, account(email));
+        increment(ipFailures, ip);
+    }
+
+    public void recordSuccess(String email) {
+        accountFailures.invalidate(account(email));
+    }
+
+    private void refuseIfOver(Cache<String, AtomicInteger> failures, String key, int max, String message) {
+        AtomicInteger count = failures.getIfPresent(key);
+        if (count == null || count.get() < max) return;
+
+        Duration age = failures.policy().expireAfterWrite()
+                .flatMap(p -> p.ageOf(key))
+                .orElse(Duration.ZERO);
+        Duration retryAfter = window.minus(age);
+        throw new LoginThrottledException(message, retryAfter.isNegative() ? Duration.ZERO : retryAfter);
+    }
+
+    private static void increment(Cache<String, AtomicInteger> failures, String key) {
+        // re-put so the write refreshes the window
+        AtomicInteger count = failures.get(key, k -> new AtomicInteger());
+        count.incrementAndGet();
+        failures.put(key, count);
+    }
+
+    private static String account(String email) {
+        return String.valueOf(email).trim().toLowerCase(Locale.ROOT);
+    }
+}
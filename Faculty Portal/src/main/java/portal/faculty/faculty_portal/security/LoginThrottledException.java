@@ -0,0 +1,17 @@
+package portal.faculty.faculty_portal.security;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/** Login refused before checking the password; rendered as 429 with Retry-After. */
+@Getter
+public class LoginThrottledException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public LoginThrottledException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+}
@@ -0,0 +1,73 @@
+package portal.faculty.faculty_portal.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Runs BCrypt work (login authentication) on a few dedicated threads so a login storm can use
+ * at most {@code hash-threads} cores. Callers beyond the bounded queue are turned away
+ * immediately instead of piling up on Tomcat threads.
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final ThreadPoolExecutor executor;
+    private final Counter rejected;
+
+    public PasswordHashingExecutor(@Value("${app.security.login.hash-threads:2}") int threads,
+                                   @Value("${app.security.login.queue-capacity:50}") int queueCapacity,
+                                   MeterRegistry meters) {
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "password-hashing");
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.rejected = Counter.builder("auth.login.rejected")
+                .description("Logins turned away because the password-hashing queue was full")
+                .register(meters);
+        Gauge.builder("auth.login.queued", executor, e -> e.getQueue().size())
+                .description("Logins waiting for a password-hashing thread")
+                .register(meters);
+    }
+
+    /** Runs the task on the hashing pool and waits for it; its exceptions are rethrown as-is. */
+    public <T> T run(Supplier<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task::get);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new LoginThrottledException("Too many logins in progress, try again shortly", RETRY_AFTER);
+        }
+
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for login", e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
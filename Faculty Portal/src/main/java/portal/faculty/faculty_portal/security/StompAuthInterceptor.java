@@ -0,0 +1,74 @@
+package portal.faculty.faculty_portal.security;
+
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.stereotype.Component;
+import portal.faculty.faculty_portal.task.TaskEventPublisher;
+import portal.faculty.faculty_portal.user.Role;
+import portal.faculty.faculty_portal.user.User;
+
+/**
+ * Authenticates STOMP sessions with the same bearer JWT as the REST API, sent as the
+ * {@code Authorization} header of the CONNECT frame (browsers can't set headers on the handshake).
+ * Subscriptions are limited to the caller's own task topic, plus their department's for HODs;
+ * clients have nothing to SEND.
+ */
+@Component
+@RequiredArgsConstructor
+public class StompAuthInterceptor implements ChannelInterceptor {
+
+    private final JwtService jwtService;
+    private final TokenDenylist denylist;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) return message;
+
+        switch (accessor.getCommand()) {
+            case CONNECT -> accessor.setUser(authenticate(accessor.getFirstNativeHeader("Authorization")));
+            case SUBSCRIBE -> authorize(accessor);
+            case SEND -> throw new AccessDeniedException("Sending is not supported.");
+            default -> { }
+        }
+        return message;
+    }
+
+    private UsernamePasswordAuthenticationToken authenticate(String header) {
+        if (header == null || !header.startsWith("Bearer ")) {
+            throw new AccessDeniedException("Missing bearer token.");
+        }
+        User user;
+        try {
+            user = jwtService.parsePrincipal(header.substring(7));
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new AccessDeniedException("Invalid token.");
+        }
+        if (denylist.isRevoked(user.getId(), user.getTokenVersion())) {
+            throw new AccessDeniedException("Token revoked.");
+        }
+        return new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+    }
+
+    private void authorize(StompHeaderAccessor accessor) {
+        if (!(accessor.getUser() instanceof UsernamePasswordAuthenticationToken auth)
+                || !(auth.getPrincipal() instanceof User user)) {
+            throw new AccessDeniedException("Not authenticated.");
+        }
+        String destination = accessor.getDestination();
+        boolean own = TaskEventPublisher.userDestination(user.getId()).equals(destination);
+        boolean department = user.getRole() == Role.HOD && user.getDepartment() != null
+                && TaskEventPublisher.departmentDestination(user.getDepartment()).equals(destination);
+        if (!own && !department) {
+            throw new AccessDeniedException("Cannot subscribe to " + destination);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package portal.faculty.faculty_portal.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import portal.faculty.faculty_portal.common.AfterCommit;
+import portal.faculty.faculty_portal.user.UserRepository;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Minimum accepted token version per user, for the few users that have one.
+ * A token is rejected when its "ver" claim is below the user's current token_version;
+ * disabled users reject every token. Refreshed from the DB so revocations on other nodes
+ * take effect within {@code app.jwt.denylist-refresh}.
+ */
+@Component
+@RequiredArgsConstructor
+public class TokenDenylist {
+
+    private static final int DISABLED = Integer.MAX_VALUE;
+
+    private final UserRepository users;
+
+    private volatile Map<Long, Integer> minVersions = Map.of();
+
+    public boolean isRevoked(Long userId, int tokenVersion) {
+        return tokenVersion < minVersions.getOrDefault(userId, 0);
+    }
+
+    /**
+     * Invalidates every token the user holds now: on this node once the bump commits (a rollback
+     * revokes nothing), elsewhere on refresh.
+     */
+    @Transactional
+    public void revokeAll(Long userId) {
+        Integer version = users.bumpTokenVersion(userId);
+        if (version == null) return;
+        AfterCommit.run(() -> raise(userId, version));
+    }
+
+    /**
+     * Reloads the revocations from the DB. Versions revoked here are kept when the DB read is older
+     * than them (versions only grow); a disabled flag always comes from the DB, so re-enabling works.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.jwt.denylist-refresh:PT30S}",
+            fixedDelayString = "${app.jwt.denylist-refresh:PT30S}")
+    public void refresh() {
+        Map<Long, Integer> next = new HashMap<>();
+        for (Object[] row : users.findTokenRevocations()) {
+            boolean enabled = (Boolean) row[2];
+            next.put((Long) row[0], enabled ? (Integer) row[1] : DISABLED);
+        }
+        synchronized (this) {
+            minVersions.forEach((userId, version) -> {
+                if (version != DISABLED) next.merge(userId, version, Math::max);
+            });
+            minVersions = Map.copyOf(next);
+        }
+    }
+
+    private synchronized void raise(Long userId, int version) {
+        Map<Long, Integer> next = new HashMap<>(minVersions);
+        next.merge(userId, version, Math::max);
+        minVersions = Map.copyOf(next);
+    }
+}
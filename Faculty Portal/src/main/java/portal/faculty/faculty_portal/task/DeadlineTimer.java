@@ -0,0 +1,162 @@
+package portal.faculty.faculty_portal.task;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import portal.faculty.faculty_portal.analytics.TaskRollupService;
+import portal.faculty.faculty_portal.common.AfterCommit;
+import portal.faculty.faculty_portal.task.outbox.TaskOutbox;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+
+/**
+ * Flips each task to OVERDUE at its exact dueAt instead of waiting for the next sweep.
+ * <p>
+ * Open tasks due within {@code horizon} are kept in an in-memory deadline queue (the delay heap of a
+ * single-threaded {@link ScheduledThreadPoolExecutor}), one entry per task. The queue is seeded at
+ * startup, refilled every {@code refill-interval}, and updated by {@link TaskService} on create and
+ * reject. Firing runs a guarded single-row UPDATE, so a stale entry or the same task firing on two
+ * nodes is harmless. {@link OverdueTaskJob} remains as a low-frequency reconciliation pass.
+ */
+@Slf4j
+@Component
+public class DeadlineTimer {
+
+    static final Set<TaskStatus> OPEN = EnumSet.of(TaskStatus.ASSIGNED, TaskStatus.PENDING, TaskStatus.IN_PROGRESS);
+
+    private final TaskRepository tasks;
+    private final TaskRollupService rollups;
+    private final TaskOutbox outbox;
+    private final TransactionTemplate tx;
+    private final Duration horizon;
+    private final boolean enabled;
+
+    private final ScheduledThreadPoolExecutor executor;
+    private final Map<Long, ScheduledFuture<?>> scheduled = new ConcurrentHashMap<>();
+    private final Counter fired;
+
+    public DeadlineTimer(TaskRepository tasks,
+                         TaskRollupService rollups,
+                         TaskOutbox outbox,
+                         PlatformTransactionManager txManager,
+                         MeterRegistry meters,
+                         @Value("${app.tasks.deadline-timer.horizon:PT2H}") Duration horizon,
+                         @Value("${app.tasks.deadline-timer.enabled:true}") boolean enabled) {
+        this.tasks = tasks;
+        this.rollups = rollups;
+        this.outbox = outbox;
+        this.tx = new TransactionTemplate(txManager);
+        this.horizon = horizon;
+        this.enabled = enabled;
+
+        this.executor = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread t = new Thread(r, "task-deadlines");
+            t.setDaemon(true);
+            return t;
+        });
+        this.executor.setRemoveOnCancelPolicy(true);
+
+        this.fired = Counter.builder("tasks.deadline.fired")
+                .description("Tasks moved to OVERDUE by the deadline timer")
+                .register(meters);
+        Gauge.builder("tasks.deadline.scheduled", scheduled, Map::size)
+                .description("Deadlines currently held in memory")
+                .register(meters);
+    }
+
+    /**
+     * (Re)schedules the deadline of an open task. Inside a transaction this takes effect after
+     * commit, so the firing UPDATE sees the committed row.
+     */
+    public void schedule(Long taskId, Instant dueAt) {
+        schedule(List.of(taskId), dueAt);
+    }
+
+    /** Same as {@link #schedule(Long, Instant)} for tasks sharing one deadline (bulk assignment). */
+    public void schedule(Collection<Long> taskIds, Instant dueAt) {
+        if (!enabled) return; // the sweep alone flips overdue tasks
+        if (dueAt == null || dueAt.isAfter(Instant.now().plus(horizon))) {
+            taskIds.forEach(this::cancel); // beyond the horizon: picked up by a later refill
+            return;
+        }
+        AfterCommit.run(() -> {
+            // round up: firing even a microsecond early fails the due_at <= now guard and leaves the task to the sweep
+            long delayMs = Math.max(0, Duration.between(Instant.now(), dueAt).plusNanos(999_999).toMillis());
+            for (Long taskId : taskIds) {
+                ScheduledFuture<?> previous = scheduled.put(taskId,
+                        executor.schedule(() -> fire(taskId), delayMs, TimeUnit.MILLISECONDS));
+                if (previous != null) previous.cancel(false);
+            }
+        });
+    }
+
+    /**
+     * Drops the deadline of a task that left the open states (submitted, completed). Like
+     * {@link #schedule}, inside a transaction this waits for the commit: a rolled-back change
+     * keeps the task's timer.
+     */
+    public void cancel(Long taskId) {
+        AfterCommit.run(() -> {
+            ScheduledFuture<?> previous = scheduled.remove(taskId);
+            if (previous != null) previous.cancel(false);
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        refill();
+    }
+
+    /** Loads upcoming deadlines into the queue; already-scheduled tasks are simply rescheduled. */
+    @Scheduled(initialDelayString = "${app.tasks.deadline-timer.refill-interval:PT1H}",
+            fixedDelayString = "${app.tasks.deadline-timer.refill-interval:PT1H}")
+    public void refill() {
+        if (!enabled) return;
+        Instant now = Instant.now();
+        List<Object[]> upcoming = tasks.findOpenDeadlines(OPEN, now, now.plus(horizon));
+        for (Object[] row : upcoming) {
+            schedule((Long) row[0], (Instant) row[1]);
+        }
+    }
+
+    void fire(Long taskId) {
+        scheduled.remove(taskId);
+        try {
+            tx.executeWithoutResult(status -> {
+                Instant now = Instant.now();
+                List<OverdueFlip> flipped = tasks.markOverdueIfOpen(taskId, now).stream()
+                        .map(OverdueFlip::fromRow)
+                        .toList();
+                if (!flipped.isEmpty()) {
+                    rollups.recordOverdue(flipped);
+                    outbox.append(flipped.stream().map(f -> TaskEvent.overdue(f, now)).toList());
+                    fired.increment();
+                }
+            });
+        } catch (RuntimeException e) {
+            // leave it to the reconciliation sweep
+            log.warn("Deadline flip failed for task {}", taskId, e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
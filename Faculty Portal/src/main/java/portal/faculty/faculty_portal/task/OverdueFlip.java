@@ -0,0 +1,23 @@
+package portal.faculty.faculty_portal.task;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+
+/** A task the overdue sweep just moved to OVERDUE, with what the daily rollup and the push need. */
+public record OverdueFlip(Long taskId, Instant createdAt, String department, Long assigneeId) {
+
+    /** From a native [id, created_at, department, assignee id] row as returned by the overdue UPDATEs. */
+    static OverdueFlip fromRow(Object[] r) {
+        return new OverdueFlip(((Number) r[0]).longValue(), toInstant(r[1]), (String) r[2],
+                ((Number) r[3]).longValue());
+    }
+
+    /** Native timestamp columns come back as Instant, OffsetDateTime or Timestamp depending on the driver path. */
+    static Instant toInstant(Object value) {
+        return value == null ? null
+                : value instanceof Instant i ? i
+                : value instanceof OffsetDateTime o ? o.toInstant()
+                : ((Timestamp) value).toInstant();
+    }
+}
@@ -1,27 +1,104 @@
 package portal.faculty.faculty_portal.task;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import portal.faculty.faculty_portal.analytics.TaskRollupService;
+import portal.faculty.faculty_portal.common.JobLeases;
+import portal.faculty.faculty_portal.task.outbox.TaskOutbox;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 
+/**
+ * Reconciliation pass behind {@link DeadlineTimer}: moves any past-due PENDING/IN_PROGRESS tasks
+ * the timer missed (restarts, tasks created on another node, ...) to OVERDUE with chunked bulk UPDATEs.
+ * Cost is proportional to the tasks that newly became overdue; tasks already OVERDUE are not touched.
+ * A DB lease makes sure only one node sweeps per interval.
+ */
 @Component
-@RequiredArgsConstructor
 public class OverdueTaskJob {
 
+    static final String LEASE = "overdue-task-sweep";
+
     private final TaskRepository tasks;
+    private final TaskRollupService rollups;
+    private final TaskOutbox outbox;
+    private final JobLeases leases;
+    private final TransactionTemplate tx;
+    private final Duration leaseTtl;
+    private final int chunkSize;
+    private final boolean enabled;
+
+    private final Timer sweepTimer;
+    private final Counter transitioned;
+    private final Counter skipped;
 
-    // run every 5 minutes
-    @Scheduled(fixedDelay = 5 * 60 * 1000)
+    public OverdueTaskJob(TaskRepository tasks,
+                          TaskRollupService rollups,
+                          TaskOutbox outbox,
+                          JobLeases leases,
+                          PlatformTransactionManager txManager,
+                          MeterRegistry meters,
+                          @Value("${app.tasks.overdue-sweep.interval:PT15M}") Duration interval,
+                          @Value("${app.tasks.overdue-sweep.chunk-size:500}") int chunkSize,
+                          @Value("${app.tasks.overdue-sweep.enabled:true}") boolean enabled) {
+        this.tasks = tasks;
+        this.rollups = rollups;
+        this.outbox = outbox;
+        this.leases = leases;
+        this.tx = new TransactionTemplate(txManager);
+        // hold the lease a bit less than the interval so the holder can renew on its next run
+        this.leaseTtl = interval.minus(interval.dividedBy(10));
+        this.chunkSize = chunkSize;
+        this.enabled = enabled;
+
+        this.sweepTimer = Timer.builder("tasks.overdue.sweep")
+                .description("Duration of overdue sweeps that held the lease")
+                .register(meters);
+        this.transitioned = Counter.builder("tasks.overdue.transitioned")
+                .description("Tasks moved to OVERDUE by the sweep")
+                .register(meters);
+        this.skipped = Counter.builder("tasks.overdue.sweep.skipped")
+                .description("Sweeps skipped because another node holds the lease")
+                .register(meters);
+    }
+
+    @Scheduled(fixedDelayString = "${app.tasks.overdue-sweep.interval:PT15M}")
     public void markOverdue() {
-        List<Task> candidates = tasks.findByDueAtBeforeAndStatusNot(Instant.now(), TaskStatus.COMPLETED);
-        for (Task t : candidates) {
-            if (t.getStatus() != TaskStatus.SUBMITTED && t.getStatus() != TaskStatus.COMPLETED) {
-                t.setStatus(TaskStatus.OVERDUE);
-                tasks.save(t);
-            }
+        if (!enabled) return;
+        if (!leases.tryAcquire(LEASE, leaseTtl)) {
+            skipped.increment();
+            return;
         }
+        sweepTimer.record(this::sweep);
+    }
+
+    /** Flips chunks until one comes back short; each chunk commits on its own to keep row locks brief. */
+    int sweep() {
+        Instant now = Instant.now();
+        int total = 0;
+        int flipped;
+        do {
+            flipped = tx.execute(status -> {
+                List<OverdueFlip> rows = tasks.markOverdueChunk(now, chunkSize).stream()
+                        .map(OverdueFlip::fromRow)
+                        .toList();
+                if (!rows.isEmpty()) {
+                    rollups.recordOverdue(rows);
+                    outbox.append(rows.stream().map(f -> TaskEvent.overdue(f, now)).toList());
+                }
+                return rows.size();
+            });
+            total += flipped;
+            transitioned.increment(flipped);
+        } while (flipped == chunkSize);
+        return total;
     }
 }
@@ -2,14 +2,17 @@ package portal.faculty.faculty_portal.task;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import portal.faculty.faculty_portal.common.ConflictException;
+import portal.faculty.faculty_portal.common.ETags;
 import portal.faculty.faculty_portal.task.dto.*;
 import portal.faculty.faculty_portal.user.Role;
 import portal.faculty.faculty_portal.user.User;
-import portal.faculty.faculty_portal.user.UserRepository;
 
 import java.util.List;
 
@@ -20,35 +23,70 @@ import static portal.faculty.faculty_portal.task.TaskMapper.toView;
 @RequiredArgsConstructor
 public class TaskController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
     private final TaskRepository tasks;
-    private final UserRepository users;
+    private final TaskReadRepository taskViews;
     private final TaskService service;
 
-    /** List tasks for the current user (FACULTY) or all (HOD). */
+    /**
+     * List tasks for the current user (FACULTY) or all (HOD), one keyset page at a time.
+     * The cursor for the next page is returned in X-Next-Cursor (absent on the last page),
+     * the total in X-Total-Count when includeTotal=true. 304 if nothing visible changed (ETag).
+     */
     @GetMapping
-    public List<TaskView> listForCurrent(Authentication auth,
-                                         @RequestParam(required = false) String status) {
+    public ResponseEntity<List<TaskView>> listForCurrent(Authentication auth, TaskListQuery query, WebRequest request) {
         User requester = (User) auth.getPrincipal();
         boolean isHod = requester.getRole() == Role.HOD;
+        Long assigneeId = isHod ? null : requester.getId();
 
-        TaskStatus filter = null;
-        if (status != null && !status.isBlank()) {
-            try {
-                filter = TaskStatus.valueOf(status);
-            } catch (IllegalArgumentException ex) {
-                throw new IllegalArgumentException("Invalid status: " + status);
-            }
-        }
+        if (request.checkNotModified(service.listETag(assigneeId, query.toString()))) return null;
+        return toResponse(service.listPage(query, assigneeId));
+    }
 
-        List<Task> result;
-        if (isHod) {
-            result = (filter == null) ? tasks.findAll() : tasks.findByStatus(filter);
-        } else {
-            result = (filter == null)
-                    ? tasks.findByAssignedTo(requester)
-                    : tasks.findByAssignedToAndStatus(requester, filter);
-        }
-        return result.stream().map(TaskMapper::toView).toList();
+    /**
+     * Delta sync: what changed in the caller's task list (same visibility as {@link #listForCurrent})
+     * since {@code since}, the cursor returned by the previous call; omit it for a full initial sync.
+     */
+    @GetMapping("/changes")
+    public TaskChanges changes(@RequestParam(required = false) String since,
+                               @RequestParam(required = false) Integer limit,
+                               Authentication auth) {
+        User requester = (User) auth.getPrincipal();
+        boolean isHod = requester.getRole() == Role.HOD;
+
+        return service.changesSince(since, limit, isHod ? null : requester.getId());
+    }
+
+    /**
+     * Counts per status, priority, department and (HOD only) assignee for the list filters in the
+     * query, same visibility as {@link #listForCurrent}; each facet ignores its own filter. Served from
+     * the in-memory task cube, so a change can take up to one cube refresh (about a second) to show.
+     */
+    @GetMapping("/facets")
+    public TaskFacets facets(Authentication auth, TaskListQuery query) {
+        User requester = (User) auth.getPrincipal();
+        boolean isHod = requester.getRole() == Role.HOD;
+
+        return service.facets(query, isHod ? null : requester.getId());
+    }
+
+    /**
+     * Ids of every task matching the list filters (same visibility as {@link #listForCurrent}), in id
+     * order and paged like it: X-Next-Cursor for the next page, X-Total-Count when includeTotal=true.
+     * Served from the in-memory task cube like {@link #facets}, so it can lag a change by about a second.
+     */
+    @GetMapping("/ids")
+    public ResponseEntity<List<Long>> ids(Authentication auth, TaskListQuery query) {
+        User requester = (User) auth.getPrincipal();
+        boolean isHod = requester.getRole() == Role.HOD;
+
+        TaskIdPage page = service.ids(query, isHod ? null : requester.getId());
+        ResponseEntity.BodyBuilder res = ResponseEntity.ok();
+        if (page.nextCursor() != null) res.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        if (page.total() != null) res.header(TOTAL_COUNT_HEADER, page.total().toString());
+        return res.body(page.ids());
     }
 
     /** HOD creates/assigns a task. assignedBy = current authenticated user */
@@ -56,27 +94,23 @@ public class TaskController {
     @PreAuthorize("hasAnyAuthority('HOD','ROLE_HOD')")
     public TaskView create(@RequestBody TaskCreateDto dto, Authentication auth) {
         User assigner = (User) auth.getPrincipal();
-        User assignee = users.findById(dto.getAssignedToUserId())
-                .orElseThrow(() -> new IllegalArgumentException("Assignee not found"));
-
-        Task t = Task.builder()
-                .title(dto.getTitle())
-                .description(dto.getDescription())
-                .dueAt(dto.getDueAt())
-                .priority(dto.getPriority() == null ? 3 : dto.getPriority())
-                .status(TaskStatus.PENDING)   // default to PENDING
-                .assignedTo(assignee)
-                .assignedBy(assigner)
-                .build();
+        return toView(service.create(dto, assigner));
+    }
 
-        return toView(tasks.save(t));
+    /** HOD assigns one task to many users (explicit ids, a department or a role); one result per assignee. */
+    @PostMapping("/bulk")
+    @PreAuthorize("hasAnyAuthority('HOD','ROLE_HOD')")
+    public List<BulkAssignResult> bulkCreate(@Valid @RequestBody BulkAssignDto dto, Authentication auth) {
+        User assigner = (User) auth.getPrincipal();
+        return service.bulkCreate(dto, assigner);
     }
 
-    /** List tasks for a specific userId. */
+    /** List tasks for a specific userId (paged like {@link #listForCurrent}). */
     @GetMapping("/by-user/{userId}")
-    public List<TaskView> listByUser(@PathVariable Long userId,
-                                     Authentication auth,
-                                     @RequestParam(required = false) String status) {
+    public ResponseEntity<List<TaskView>> listByUser(@PathVariable Long userId,
+                                                     Authentication auth,
+                                                     TaskListQuery query,
+                                                     WebRequest request) {
         User requester = (User) auth.getPrincipal();
         boolean isHod = requester.getRole() == Role.HOD;
 
@@ -84,43 +118,43 @@ public class TaskController {
             throw new AccessDeniedException("You can only view your own tasks");
         }
 
-        User target = users.findById(userId).orElseThrow();
-        List<Task> result;
-        if (status == null || status.isBlank()) {
-            result = tasks.findByAssignedTo(target);
-        } else {
-            TaskStatus st = TaskStatus.valueOf(status);
-            result = tasks.findByAssignedToAndStatus(target, st);
-        }
+        if (request.checkNotModified(service.listETag(userId, query.toString()))) return null;
+        return toResponse(service.listPage(query, userId));
+    }
 
-        return result.stream().map(TaskMapper::toView).toList();
+    private static ResponseEntity<List<TaskView>> toResponse(TaskPage page) {
+        ResponseEntity.BodyBuilder res = ResponseEntity.ok();
+        if (page.nextCursor() != null) res.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        if (page.total() != null) res.header(TOTAL_COUNT_HEADER, page.total().toString());
+        return res.body(page.items());
     }
 
-    /** Fetch a single task by id (auth required) */
+    /** Fetch a single task by id (auth required); 304 if unchanged since the ETag the client holds */
     @GetMapping("/{taskId}")
-    public TaskView getOne(@PathVariable Long taskId, Authentication auth) {
+    public TaskView getOne(@PathVariable Long taskId, Authentication auth, WebRequest request) {
         User requester = (User) auth.getPrincipal();
-        Task t = tasks.findById(taskId).orElseThrow();
+        Object[] v = tasks.findVersion(taskId).stream().findFirst().orElseThrow(); // [updatedAt, assignee, assigner]
 
         boolean isHod = requester.getRole() == Role.HOD;
-        boolean isAssignee = t.getAssignedTo().getId().equals(requester.getId());
-        boolean isAssigner = t.getAssignedBy() != null && t.getAssignedBy().getId().equals(requester.getId());
+        boolean isAssignee = requester.getId().equals(v[1]);
+        boolean isAssigner = requester.getId().equals(v[2]);
 
         if (!isHod && !isAssignee && !isAssigner) {
             throw new AccessDeniedException("Not allowed to view this task");
         }
 
-        return toView(t);
+        if (request.checkNotModified(ETags.of("task", taskId, v[0]))) return null;
+        return taskViews.findView(taskId).orElseThrow();
     }
 
     @PutMapping("/{id}/status")
-    public Task updateStatus(@PathVariable Long id, @RequestBody TaskUpdateStatusDto body, Authentication authentication) {
+    public TaskView updateStatus(@PathVariable Long id, @RequestBody TaskUpdateStatusDto body, Authentication authentication) {
         Task t = tasks.findById(id).orElseThrow(() -> new IllegalArgumentException("Task not found"));
 
         requireAssignee(t, authentication);  // Added method
         requireNotLocked(t);  // Added method
 
-        if (t.isLocked()) throw new IllegalStateException("Task is locked.");
+        if (t.isLocked()) throw new ConflictException("Task is locked.");
 
         TaskStatus newSt = TaskStatus.valueOf(body.getStatus());
         boolean isHod = authentication.getAuthorities().stream().anyMatch(a -> "ROLE_HOD".equals(a.getAuthority()));
@@ -130,11 +164,10 @@ public class TaskController {
         if (!isHod && isAssignee) {
             if (newSt != TaskStatus.IN_PROGRESS) throw new AccessDeniedException("Invalid status change");
             if (!(t.getStatus() == TaskStatus.PENDING || t.getStatus() == TaskStatus.OVERDUE))
-                throw new IllegalStateException("Invalid transition");
+                throw new ConflictException("Invalid transition");
         }
 
-        t.setStatus(newSt);
-        return tasks.save(t);
+        return service.changeStatus(t, newSt);
     }
 
     // Helper method to check if the current user is the assignee
@@ -148,7 +181,7 @@ public class TaskController {
     // Helper method to ensure the task is not locked
     private void requireNotLocked(Task task) {
         if (task.isLocked()) {
-            throw new IllegalStateException("Task is locked.");
+            throw new ConflictException("Task is locked.");
         }
     }
 
@@ -158,9 +191,8 @@ public class TaskController {
     @PatchMapping("/{id}/start")
     @PreAuthorize("hasAnyAuthority('FACULTY','ROLE_FACULTY') and @guard.isAssignee(#id, authentication)")
     public TaskView start(@PathVariable Long id, Authentication auth) {
-        User current = users.findByEmail(auth.getName())
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
-        return toView(service.start(id, current));
+        User current = (User) auth.getPrincipal();
+        return service.start(id, current);
     }
 
     /** Faculty: IN_PROGRESS -> SUBMITTED */
@@ -169,9 +201,8 @@ public class TaskController {
     public TaskView submit(@PathVariable Long id,
                            @Valid @RequestBody SubmissionCreateDto body,
                            Authentication auth) {
-        User current = users.findByEmail(auth.getName())
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
-        return toView(service.submit(id, current, body));
+        User current = (User) auth.getPrincipal();
+        return service.submit(id, current, body);
     }
 
     /** HOD: review SUBMITTED -> (APPROVED|REJECTED) */
@@ -180,9 +211,16 @@ public class TaskController {
     public TaskView review(@PathVariable Long id,
                            @Valid @RequestBody ReviewDto body,
                            Authentication auth) {
-        User hod = users.findByEmail(auth.getName())
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
-        return toView(service.review(id, hod, body));
+        User hod = (User) auth.getPrincipal();
+        return service.review(id, hod, body);
+    }
+
+    /** HOD: review a whole queue at once; one outcome per task, in request order */
+    @PostMapping("/review")
+    @PreAuthorize("hasAnyAuthority('HOD','ROLE_HOD')")
+    public List<BatchReviewResult> reviewAll(@Valid @RequestBody BatchReviewDto body, Authentication auth) {
+        User hod = (User) auth.getPrincipal();
+        return service.reviewAll(body, hod);
     }
 
     /** History (assignee or any HOD) */
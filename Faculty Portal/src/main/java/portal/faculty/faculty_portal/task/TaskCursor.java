@@ -0,0 +1,43 @@
+package portal.faculty.faculty_portal.task;
+
+import portal.faculty.faculty_portal.task.dto.TaskView;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Position after the last row of a page: the sort key and id of that row.
+ * Serialized as an opaque base64url token; clients must pass it back unchanged.
+ */
+record TaskCursor(TaskSort sort, Instant key, long id) {
+
+    static TaskCursor after(TaskSort sort, TaskView last) {
+        return new TaskCursor(sort, sort.keyOf(last), last.getId());
+    }
+
+    String encode() {
+        String raw = sort.name() + "|" + (key == null ? "" : key.toString()) + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Returns null for a missing cursor (first page). */
+    static TaskCursor decode(String cursor, TaskSort expectedSort) {
+        if (cursor == null || cursor.isBlank()) return null;
+        TaskCursor c;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            c = new TaskCursor(
+                    TaskSort.valueOf(parts[0]),
+                    parts[1].isEmpty() ? null : Instant.parse(parts[1]),
+                    Long.parseLong(parts[2]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (c.sort() != expectedSort) {
+            throw new IllegalArgumentException("Cursor was issued for sort " + c.sort());
+        }
+        return c;
+    }
+}
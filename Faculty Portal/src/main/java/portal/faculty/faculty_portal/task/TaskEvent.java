@@ -0,0 +1,25 @@
+package portal.faculty.faculty_portal.task;
+
+import java.time.Instant;
+
+/**
+ * A committed task change as pushed over STOMP. It says what happened, not the whole task;
+ * clients refetch the task (or call /api/tasks/changes) if they need more.
+ * {@code previousStatus} is null where it isn't known: new tasks and overdue flips.
+ */
+public record TaskEvent(Long taskId, TaskStatus status, TaskStatus previousStatus, Long assigneeId,
+                        String department, Instant at) {
+
+    static TaskEvent created(Task t) {
+        return new TaskEvent(t.getId(), t.getStatus(), null, t.getAssignedTo().getId(),
+                t.getAssignedTo().getDepartment(), t.getCreatedAt());
+    }
+
+    static TaskEvent of(TaskTransition t, Instant at) {
+        return new TaskEvent(t.taskId(), t.to(), t.from(), t.assigneeId(), t.department(), at);
+    }
+
+    static TaskEvent overdue(OverdueFlip f, Instant at) {
+        return new TaskEvent(f.taskId(), TaskStatus.OVERDUE, null, f.assigneeId(), f.department(), at);
+    }
+}
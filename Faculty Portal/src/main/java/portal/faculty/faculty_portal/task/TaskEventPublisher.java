@@ -0,0 +1,53 @@
+package portal.faculty.faculty_portal.task;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import portal.faculty.faculty_portal.task.outbox.TaskEventListener;
+
+/**
+ * Pushes committed task changes to STOMP subscribers: the assignee on {@link #userDestination}
+ * and the department's HODs on {@link #departmentDestination}.
+ * <p>
+ * Runs on the outbox relay thread, never inside a request or sweep transaction. Handing a message
+ * to the broker doesn't block (delivery to sockets runs on the bounded outbound pool); a message the
+ * broker can't take is dropped and counted, and clients catch up through GET /api/tasks/changes.
+ */
+@Component
+public class TaskEventPublisher implements TaskEventListener {
+
+    private final SimpMessagingTemplate messaging;
+    private final Counter published;
+    private final Counter dropped;
+
+    public TaskEventPublisher(SimpMessagingTemplate messaging, MeterRegistry meters) {
+        this.messaging = messaging;
+        this.published = Counter.builder("tasks.push.published")
+                .description("Task events handed to the STOMP broker")
+                .register(meters);
+        this.dropped = Counter.builder("tasks.push.dropped")
+                .description("Task events the STOMP broker could not take")
+                .register(meters);
+    }
+
+    public static String userDestination(Long userId) {
+        return "/topic/users/" + userId + "/tasks";
+    }
+
+    public static String departmentDestination(String department) {
+        return "/topic/departments/" + department + "/tasks";
+    }
+
+    /** Best effort: a failed push is not worth redelivering, since the delta feed has the change. */
+    @Override
+    public void onTaskEvent(TaskEvent e) {
+        try {
+            messaging.convertAndSend(userDestination(e.assigneeId()), e);
+            if (e.department() != null) messaging.convertAndSend(departmentDestination(e.department()), e);
+            published.increment();
+        } catch (RuntimeException ex) {
+            dropped.increment();
+        }
+    }
+}
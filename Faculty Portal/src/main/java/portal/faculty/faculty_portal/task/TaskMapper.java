@@ -1,6 +1,7 @@
 package portal.faculty.faculty_portal.task;
 
 import portal.faculty.faculty_portal.task.dto.TaskView;
+import portal.faculty.faculty_portal.user.Role;
 import portal.faculty.faculty_portal.user.User;
 import portal.faculty.faculty_portal.task.dto.SubmissionView;
 import portal.faculty.faculty_portal.task.submission.TaskSubmission;
@@ -24,6 +25,38 @@ public final class TaskMapper {
                 .build();
     }
 
+    /** View from the flat read-model projection (no entity access). */
+    public static TaskView toView(TaskRow r) {
+        return TaskView.builder()
+                .id(r.id())
+                .title(r.title())
+                .description(r.description())
+                .dueAt(r.dueAt())
+                .status(r.status().name())
+                .priority(r.priority())
+                .assignedTo(toMini(r.assignedToId(), r.assignedToName(), r.assignedToEmail(),
+                        r.assignedToRole(), r.assignedToDepartment()))
+                .assignedBy(toMini(r.assignedById(), r.assignedByName(), r.assignedByEmail(),
+                        r.assignedByRole(), r.assignedByDepartment()))
+                .createdAt(r.createdAt())
+                .updatedAt(r.updatedAt())
+                .locked(r.status() == TaskStatus.COMPLETED)
+                .build();
+    }
+
+    private static TaskView.MiniUser toMini(Long id, String name, String email, Role role, String department) {
+        if (id == null) {
+            return null;
+        }
+        return TaskView.MiniUser.builder()
+                .id(id)
+                .name(name)
+                .email(email)
+                .role(role.name())
+                .department(department)
+                .build();
+    }
+
     private static TaskView.MiniUser toMini(User u) {
         if (u == null) {  // ← Add this null check
             return null;
@@ -0,0 +1,210 @@
+package portal.faculty.faculty_portal.task;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.*;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Repository;
+import portal.faculty.faculty_portal.task.dto.TaskListQuery;
+import portal.faculty.faculty_portal.task.dto.TaskView;
+import portal.faculty.faculty_portal.user.User;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Read model for task views. Every method runs one joined SELECT that projects straight
+ * into {@link TaskRow}, so no Task/User entities are loaded into the persistence context.
+ * Mutations keep going through {@link TaskRepository} and entities.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TaskReadRepository {
+
+    private final EntityManager em;
+
+    public Optional<TaskView> findView(Long taskId) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<TaskRow> cq = cb.createQuery(TaskRow.class);
+        Root<Task> t = cq.from(Task.class);
+        select(cq, cb, t);
+        cq.where(cb.equal(t.get("id"), taskId));
+        return em.createQuery(cq).getResultStream().findFirst().map(TaskMapper::toView);
+    }
+
+    /** Views of the given tasks (search results), in no particular order. */
+    public List<TaskView> findViews(Collection<Long> taskIds) {
+        if (taskIds.isEmpty()) return List.of();
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<TaskRow> cq = cb.createQuery(TaskRow.class);
+        Root<Task> t = cq.from(Task.class);
+        select(cq, cb, t);
+        cq.where(t.get("id").in(taskIds));
+        return em.createQuery(cq).getResultStream().map(TaskMapper::toView).toList();
+    }
+
+    /** Up to {@code limit} rows after {@code after} (null = first page), in {@code sort} order. */
+    public List<TaskView> findPage(TaskListQuery q, Long assigneeId, TaskSort sort, TaskCursor after, int limit) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<TaskRow> cq = cb.createQuery(TaskRow.class);
+        Root<Task> t = cq.from(Task.class);
+        Join<Task, User> to = select(cq, cb, t);
+
+        List<Predicate> ps = filters(q, assigneeId, null, cb, t, to);
+        if (after != null) ps.add(after(after, cb, t));
+        cq.where(ps.toArray(Predicate[]::new));
+
+        Path<Instant> key = t.get(sort.property);
+        Path<Long> id = t.get("id");
+        cq.orderBy(sort.direction == Sort.Direction.ASC
+                ? List.of(cb.asc(key), cb.asc(id))
+                : List.of(cb.desc(key), cb.desc(id)));
+
+        return em.createQuery(cq).setMaxResults(limit).getResultStream()
+                .map(TaskMapper::toView)
+                .toList();
+    }
+
+    /**
+     * Delta sync: up to {@code limit} rows changed after {@code after} (null = from the start) and
+     * no later than {@code until}, oldest change first.
+     */
+    public List<TaskView> findChanges(Long assigneeId, TaskCursor after, Instant until, int limit) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<TaskRow> cq = cb.createQuery(TaskRow.class);
+        Root<Task> t = cq.from(Task.class);
+        Join<Task, User> to = select(cq, cb, t);
+
+        List<Predicate> ps = new ArrayList<>();
+        if (assigneeId != null) ps.add(cb.equal(to.get("id"), assigneeId));
+        if (after != null) ps.add(after(after, cb, t));
+        ps.add(cb.lessThanOrEqualTo(t.get("updatedAt"), until));
+        cq.where(ps.toArray(Predicate[]::new));
+        cq.orderBy(cb.asc(t.get("updatedAt")), cb.asc(t.get("id")));
+
+        return em.createQuery(cq)
+                .setMaxResults(limit)
+                .getResultStream()
+                .map(TaskMapper::toView)
+                .toList();
+    }
+
+    public long count(TaskListQuery q, Long assigneeId) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Long> cq = cb.createQuery(Long.class);
+        Root<Task> t = cq.from(Task.class);
+        Join<Task, User> to = t.join("assignedTo");
+        cq.select(cb.count(t)).where(filters(q, assigneeId, null, cb, t, to).toArray(Predicate[]::new));
+        return em.createQuery(cq).getSingleResult();
+    }
+
+    /**
+     * Task counts per value of one facet (a {@link Facet}) under every filter except that facet's own;
+     * tasks without a value are left out.
+     */
+    public Map<Object, Long> countBy(TaskListQuery q, Long assigneeId, Facet facet) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Object[]> cq = cb.createQuery(Object[].class);
+        Root<Task> t = cq.from(Task.class);
+        Join<Task, User> to = t.join("assignedTo");
+        Expression<?> value = switch (facet) {
+            case STATUS -> t.get("status");
+            case PRIORITY -> t.get("priority");
+            case DEPARTMENT -> to.get("department");
+            case ASSIGNEE -> to.get("id");
+        };
+
+        List<Predicate> ps = filters(q, assigneeId, facet, cb, t, to);
+        ps.add(cb.isNotNull(value));
+        cq.multiselect(value, cb.count(t)).where(ps.toArray(Predicate[]::new)).groupBy(value);
+
+        Map<Object, Long> out = new HashMap<>();
+        for (Object[] row : em.createQuery(cq).getResultList()) out.put(row[0], (Long) row[1]);
+        return out;
+    }
+
+    /** Up to {@code limit} ids of matching tasks greater than {@code afterId}, ascending. */
+    public List<Long> findIds(TaskListQuery q, Long assigneeId, long afterId, int limit) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Long> cq = cb.createQuery(Long.class);
+        Root<Task> t = cq.from(Task.class);
+        Join<Task, User> to = t.join("assignedTo");
+        List<Predicate> ps = filters(q, assigneeId, null, cb, t, to);
+        ps.add(cb.greaterThan(t.get("id"), afterId));
+        cq.select(t.get("id")).where(ps.toArray(Predicate[]::new)).orderBy(cb.asc(t.get("id")));
+        return em.createQuery(cq).setMaxResults(limit).getResultList();
+    }
+
+    /** The filter dimensions {@link #countBy} groups on. */
+    public enum Facet { STATUS, PRIORITY, DEPARTMENT, ASSIGNEE }
+
+    /** SELECT clause shared by all view queries; returns the assignee join for filtering. */
+    private static Join<Task, User> select(CriteriaQuery<TaskRow> cq, CriteriaBuilder cb, Root<Task> t) {
+        Join<Task, User> to = t.join("assignedTo");
+        Join<Task, User> by = t.join("assignedBy");
+        cq.select(cb.construct(TaskRow.class,
+                t.get("id"), t.get("title"), t.get("description"), t.get("dueAt"),
+                t.get("status"), t.get("priority"), t.get("createdAt"), t.get("updatedAt"),
+                to.get("id"), to.get("name"), to.get("email"), to.get("role"), to.get("department"),
+                by.get("id"), by.get("name"), by.get("email"), by.get("role"), by.get("department")));
+        return to;
+    }
+
+    /**
+     * Server-side filters; {@code assigneeId} (if not null) restricts to one assignee, always. The
+     * query's filter on {@code skip} (if not null) is left out, for that facet's counts.
+     */
+    private static List<Predicate> filters(TaskListQuery q, Long assigneeId, Facet skip,
+                                           CriteriaBuilder cb, Root<Task> t, Join<Task, User> to) {
+        List<Predicate> ps = new ArrayList<>();
+        if (assigneeId != null) {
+            ps.add(cb.equal(to.get("id"), assigneeId));
+        }
+        if (q.getStatus() != null && !q.getStatus().isEmpty() && skip != Facet.STATUS) {
+            ps.add(t.get("status").in(q.getStatus()));
+        }
+        if (q.getMinPriority() != null && skip != Facet.PRIORITY) {
+            ps.add(cb.greaterThanOrEqualTo(t.get("priority"), q.getMinPriority()));
+        }
+        if (q.getMaxPriority() != null && skip != Facet.PRIORITY) {
+            ps.add(cb.lessThanOrEqualTo(t.get("priority"), q.getMaxPriority()));
+        }
+        if (q.getDepartment() != null && !q.getDepartment().isBlank() && skip != Facet.DEPARTMENT) {
+            ps.add(cb.equal(to.get("department"), q.getDepartment()));
+        }
+        if (q.getDueFrom() != null) {
+            ps.add(cb.greaterThanOrEqualTo(t.get("dueAt"), q.getDueFrom()));
+        }
+        if (q.getDueTo() != null) {
+            ps.add(cb.lessThan(t.get("dueAt"), q.getDueTo()));
+        }
+        if (q.getAssignedBy() != null) {
+            ps.add(cb.equal(t.get("assignedBy").get("id"), q.getAssignedBy()));
+        }
+        return ps;
+    }
+
+    /**
+     * Rows strictly after the cursor in its sort order. PostgreSQL puts NULL keys last
+     * for ASC and first for DESC, so a null key is handled on that side.
+     */
+    private static Predicate after(TaskCursor c, CriteriaBuilder cb, Root<Task> t) {
+        Expression<Instant> key = t.get(c.sort().property);
+        Expression<Long> id = t.get("id");
+        boolean asc = c.sort().direction == Sort.Direction.ASC;
+
+        Predicate idAfter = asc ? cb.greaterThan(id, c.id()) : cb.lessThan(id, c.id());
+        if (c.key() == null) {
+            Predicate sameNullKey = cb.and(cb.isNull(key), idAfter);
+            return asc ? sameNullKey : cb.or(sameNullKey, cb.isNotNull(key));
+        }
+        Predicate keyAfter = asc ? cb.greaterThan(key, c.key()) : cb.lessThan(key, c.key());
+        Predicate tie = cb.and(cb.equal(key, c.key()), idAfter);
+        return asc ? cb.or(keyAfter, tie, cb.isNull(key)) : cb.or(keyAfter, tie);
+    }
+}
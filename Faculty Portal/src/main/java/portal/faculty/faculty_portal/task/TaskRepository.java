@@ -7,6 +7,7 @@ import portal.faculty.faculty_portal.user.User;
 
 import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface TaskRepository extends JpaRepository<Task, Long> {
@@ -37,4 +38,146 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
                                     @Param("status") TaskStatus status,
                                     @Param("startDate") Instant startDate,
                                     @Param("endDate") Instant endDate);
+
+    /**
+     * Flips up to {@code chunk} past-due open tasks to OVERDUE in one statement and returns
+     * [id, created_at, assignee department, assignee id] for each row changed. Rows locked by a concurrent
+     * transition are skipped and picked up by a later sweep.
+     */
+    @Query(value = """
+            WITH due AS (
+                SELECT id FROM tasks
+                WHERE due_at < :now AND status IN ('ASSIGNED', 'PENDING', 'IN_PROGRESS')
+                ORDER BY due_at
+                LIMIT :chunk
+                FOR UPDATE SKIP LOCKED
+            )
+            UPDATE tasks t SET status = 'OVERDUE', updated_at = :now
+            FROM due, users u
+            WHERE t.id = due.id AND u.id = t.assigned_to_id
+            RETURNING t.id, t.created_at, u.department, t.assigned_to_id
+            """, nativeQuery = true)
+    List<Object[]> markOverdueChunk(@Param("now") Instant now, @Param("chunk") int chunk);
+
+    /** Single-task variant used by the deadline timer; returns no row if the task is no longer open. */
+    @Query(value = """
+            UPDATE tasks t SET status = 'OVERDUE', updated_at = :now
+            FROM users u
+            WHERE t.id = :id AND u.id = t.assigned_to_id
+              AND t.due_at <= :now AND t.status IN ('ASSIGNED', 'PENDING', 'IN_PROGRESS')
+            RETURNING t.id, t.created_at, u.department, t.assigned_to_id
+            """, nativeQuery = true)
+    List<Object[]> markOverdueIfOpen(@Param("id") Long id, @Param("now") Instant now);
+
+    /** [id, dueAt] of open tasks whose deadline falls in (from, to]. */
+    @Query("SELECT t.id, t.dueAt FROM Task t WHERE t.status IN :open AND t.dueAt > :from AND t.dueAt <= :to")
+    List<Object[]> findOpenDeadlines(@Param("open") Collection<TaskStatus> open,
+                                     @Param("from") Instant from,
+                                     @Param("to") Instant to);
+
+    /**
+     * Compare-and-set status change: moves task {@code id} to {@code to} only if its status is one of
+     * {@code from} and, when {@code assigneeId} is given, it is assigned to that user. Returns
+     * [previous status, created_at, department, due_at, assignee id], or no row when the guard did not hold.
+     */
+    @Query(value = """
+            WITH cur AS (
+                SELECT id, status FROM tasks
+                WHERE id = :id AND status IN (:from)
+                  AND (CAST(:assigneeId AS bigint) IS NULL OR assigned_to_id = :assigneeId)
+                FOR UPDATE
+            )
+            UPDATE tasks t SET status = :to, locked = (:to = 'COMPLETED'), updated_at = :now
+            FROM cur, users u
+            WHERE t.id = cur.id AND u.id = t.assigned_to_id
+            RETURNING cur.status, t.created_at, u.department, t.due_at, t.assigned_to_id
+            """, nativeQuery = true)
+    List<Object[]> transition(@Param("id") Long id,
+                              @Param("from") Collection<String> from,
+                              @Param("to") String to,
+                              @Param("assigneeId") Long assigneeId,
+                              @Param("now") Instant now);
+
+    /**
+     * Set-based {@link #transition} for the HOD review queue: moves each task in {@code ids} that is
+     * still SUBMITTED with a pending submission to the status at the same position in {@code targets}.
+     * Returns [id, created_at, department, due_at, assignee id] for the rows changed.
+     */
+    @Query(value = """
+            UPDATE tasks t SET status = v.target, locked = (v.target = 'COMPLETED'), updated_at = :now
+            FROM unnest(CAST(:ids AS bigint[]), CAST(:targets AS varchar[])) AS v(id, target), users u
+            WHERE t.id = v.id AND t.status = 'SUBMITTED' AND u.id = t.assigned_to_id
+              AND EXISTS (SELECT 1 FROM task_submissions s WHERE s.task_id = t.id AND s.decision = 'PENDING')
+            RETURNING t.id, t.created_at, u.department, t.due_at, t.assigned_to_id
+            """, nativeQuery = true)
+    List<Object[]> reviewAll(@Param("ids") Long[] ids, @Param("targets") String[] targets, @Param("now") Instant now);
+
+    /** [id, status] of the given tasks; explains why a guarded UPDATE skipped them. */
+    @Query("SELECT t.id, t.status FROM Task t WHERE t.id IN :ids")
+    List<Object[]> findStatuses(@Param("ids") Collection<Long> ids);
+
+    /**
+     * [sum of versions, assignees] over task_collection_versions (HOD list version): grows with every
+     * committed task write, since the counters are bumped by the writing statement.
+     */
+    @Query(value = "SELECT coalesce(sum(version), 0), count(*) FROM task_collection_versions", nativeQuery = true)
+    List<Object[]> findCollectionVersion();
+
+    /** [version, 0 or 1] of one assignee's task list (faculty list version); [0, 0] before their first task. */
+    @Query(value = """
+            SELECT coalesce(max(version), 0), count(*) FROM task_collection_versions
+            WHERE assignee_id = :assigneeId
+            """, nativeQuery = true)
+    List<Object[]> findCollectionVersionByAssignee(@Param("assigneeId") Long assigneeId);
+
+    /** [updatedAt, assignee id, assigner id] of one task: enough to authorize and answer a conditional GET. */
+    @Query("SELECT t.updatedAt, t.assignedTo.id, t.assignedBy.id FROM Task t WHERE t.id = :id")
+    List<Object[]> findVersion(@Param("id") Long id);
+
+    /**
+     * Start of the oldest transaction that is writing (or waiting on a lock to write) right now,
+     * or the current time when there is none. Writes are stamped around their transaction's start
+     * but only become visible at commit, so nothing stamped from here on can still be in flight.
+     * Sees every session of the application's own database role.
+     */
+    @Query(value = """
+            SELECT least(now(), min(xact_start)) FROM pg_stat_activity
+            WHERE datname = current_database() AND pid <> pg_backend_pid()
+              AND (backend_xid IS NOT NULL OR wait_event_type = 'Lock')
+            """, nativeQuery = true)
+    Instant findOldestWriteStart();
+
+    /**
+     * Ids of tasks that left the caller's view in (from, to]: deleted ones for everybody
+     * ({@code assigneeId} null = HOD), plus ones reassigned away for a former assignee.
+     */
+    @Query(value = """
+            SELECT DISTINCT task_id FROM task_tombstones
+            WHERE removed_at > :from AND removed_at <= :to
+              AND (CASE WHEN CAST(:assigneeId AS bigint) IS NULL THEN deleted
+                        ELSE former_assignee_id = :assigneeId END)
+            """, nativeQuery = true)
+    List<Long> findTombstones(@Param("assigneeId") Long assigneeId,
+                              @Param("from") Instant from,
+                              @Param("to") Instant to);
+
+    /**
+     * Full-text search over title (weighted A) and description (B) through idx_tasks_search:
+     * [id, rank] of up to {@code limit} matches of the tsquery {@code query}, best first, after the
+     * keyset position ({@code afterRank}, {@code afterId}). {@code assigneeId} null = all tasks (HOD).
+     */
+    @Query(value = """
+            SELECT t.id, ts_rank(t.search, q) AS rank
+            FROM tasks t, to_tsquery('english', :query) q
+            WHERE t.search @@ q
+              AND (CAST(:assigneeId AS bigint) IS NULL OR t.assigned_to_id = :assigneeId)
+              AND (ts_rank(t.search, q), t.id) < (CAST(:afterRank AS real), :afterId)
+            ORDER BY rank DESC, t.id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Object[]> search(@Param("query") String query,
+                          @Param("assigneeId") Long assigneeId,
+                          @Param("afterRank") float afterRank,
+                          @Param("afterId") long afterId,
+                          @Param("limit") int limit);
 }
@@ -0,0 +1,27 @@
+package portal.faculty.faculty_portal.task;
+
+import portal.faculty.faculty_portal.user.Role;
+
+import java.time.Instant;
+
+/** Flat constructor projection of a task joined with its assignee and assigner (see {@link TaskReadRepository}). */
+public record TaskRow(
+        Long id,
+        String title,
+        String description,
+        Instant dueAt,
+        TaskStatus status,
+        Integer priority,
+        Instant createdAt,
+        Instant updatedAt,
+        Long assignedToId,
+        String assignedToName,
+        String assignedToEmail,
+        Role assignedToRole,
+        String assignedToDepartment,
+        Long assignedById,
+        String assignedByName,
+        String assignedByEmail,
+        Role assignedByRole,
+        String assignedByDepartment
+) {}
@@ -1,66 +1,203 @@
 package portal.faculty.faculty_portal.task;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import portal.faculty.faculty_portal.analytics.TaskCube;
+import portal.faculty.faculty_portal.analytics.TaskRollupService;
+import portal.faculty.faculty_portal.common.ConflictException;
+import portal.faculty.faculty_portal.common.ETags;
+import portal.faculty.faculty_portal.task.dto.BatchReviewDto;
+import portal.faculty.faculty_portal.task.dto.BatchReviewResult;
+import portal.faculty.faculty_portal.task.dto.BulkAssignDto;
+import portal.faculty.faculty_portal.task.dto.BulkAssignResult;
 import portal.faculty.faculty_portal.task.dto.ReviewDto;
 import portal.faculty.faculty_portal.task.dto.SubmissionCreateDto;
+import portal.faculty.faculty_portal.task.dto.TaskChanges;
+import portal.faculty.faculty_portal.task.dto.TaskCreateDto;
+import portal.faculty.faculty_portal.task.dto.TaskFacets;
+import portal.faculty.faculty_portal.task.dto.TaskIdPage;
+import portal.faculty.faculty_portal.task.dto.TaskListQuery;
+import portal.faculty.faculty_portal.task.dto.TaskPage;
+import portal.faculty.faculty_portal.task.dto.TaskView;
+import portal.faculty.faculty_portal.task.outbox.TaskOutbox;
 import portal.faculty.faculty_portal.task.submission.TaskSubmission;
 import portal.faculty.faculty_portal.task.submission.TaskSubmissionRepository;
+import portal.faculty.faculty_portal.user.Role;
 import portal.faculty.faculty_portal.user.User;
+import portal.faculty.faculty_portal.user.UserRepository;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class TaskService {
 
     private final TaskRepository tasks;
+    private final TaskReadRepository taskViews;
     private final TaskSubmissionRepository submissions;
+    private final UserRepository users;
+    private final TaskRollupService rollups;
+    private final DeadlineTimer deadlines;
+    private final TaskOutbox outbox;
+    private final TaskCube cube;
 
-    private void requireNotLocked(Task t) {
-        if (Boolean.TRUE.equals(t.isLocked())) {
-            throw new IllegalStateException("Task is locked (completed).");
-        }
+    @Value("${app.tasks.bulk-assign.max-assignees:1000}")
+    private int maxBulkAssignees;
+
+    @Value("${app.tasks.review-batch.max-items:500}")
+    private int maxReviewBatch;
+
+    @Value("${app.tasks.changes.settle:PT2S}")
+    private Duration changesSettle;
+
+    private static final int MAX_CHANGES = 1000;
+
+    /**
+     * Applies a status change as one guarded UPDATE, so of two racing requests only one passes
+     * the state check; the other gets a 409 instead of overwriting the winner.
+     */
+    private TaskTransition transition(Long taskId, Long assigneeId, TaskStatus to, TaskStatus... from) {
+        Instant now = Instant.now();
+        List<Object[]> row = tasks.transition(taskId, Arrays.stream(from).map(Enum::name).toList(),
+                to.name(), assigneeId, now);
+        if (row.isEmpty()) throw rejected(taskId, assigneeId);
+
+        TaskTransition t = TaskTransition.fromRow(taskId, to, row.get(0));
+        rollups.recordTransitions(List.of(t));
+        outbox.append(TaskEvent.of(t, now));
+        return t;
     }
 
-    private void requireStatus(Task t, TaskStatus expected) {
-        if (t.getStatus() != expected) {
-            throw new IllegalStateException("Invalid state. Expected " + expected + " but was " + t.getStatus());
+    /**
+     * Works out why a guarded UPDATE matched nothing; only runs on that failure path. Reads through
+     * the query-based view, since an entity in the persistence context may predate the race.
+     */
+    private RuntimeException rejected(Long taskId, Long assigneeId) {
+        TaskView t = taskViews.findView(taskId).orElse(null);
+        if (t == null) return new IllegalArgumentException("Task not found");
+        if (assigneeId != null && !t.getAssignedTo().getId().equals(assigneeId)) {
+            return new AccessDeniedException("Only the assignee can perform this action.");
         }
+        if (t.isLocked()) return new ConflictException("Task is locked (completed).");
+        return new ConflictException("Task is " + t.getStatus() + "; it may have been changed by someone else.");
+    }
+
+    private TaskView view(Long taskId) {
+        return taskViews.findView(taskId).orElseThrow();
     }
 
-    private void requireAssignee(Task t, User current) {
-        if (t.getAssignedTo() == null || !t.getAssignedTo().getId().equals(current.getId())) {
-            throw new AccessDeniedException("Only the assignee can perform this action.");
+    @Transactional
+    public Task create(TaskCreateDto dto, User assigner) {
+        User assignee = users.findById(dto.getAssignedToUserId())
+                .orElseThrow(() -> new IllegalArgumentException("Assignee not found"));
+
+        Task t = Task.builder()
+                .title(dto.getTitle())
+                .description(dto.getDescription())
+                .dueAt(dto.getDueAt())
+                .priority(dto.getPriority() == null ? 3 : dto.getPriority())
+                .status(TaskStatus.PENDING)   // default to PENDING
+                .assignedTo(assignee)
+                .assignedBy(assigner)
+                .build();
+
+        t = tasks.save(t);
+        rollups.recordCreated(t);
+        deadlines.schedule(t.getId(), t.getDueAt());
+        outbox.append(TaskEvent.created(t));
+        return t;
+    }
+
+    /**
+     * Assigns one task template to many users in a single request: assignees are resolved with one
+     * query and the tasks go in as batched INSERTs (ids come from the pooled tasks sequence).
+     * Explicit ids that can't be assigned are reported per user instead of failing the batch.
+     */
+    @Transactional
+    public List<BulkAssignResult> bulkCreate(BulkAssignDto dto, User assigner) {
+        boolean byIds = dto.userIds() != null && !dto.userIds().isEmpty();
+        boolean byGroup = dto.department() != null || dto.role() != null;
+        if (byIds == byGroup) {
+            throw new IllegalArgumentException("Give either userIds or a department/role");
         }
+
+        List<BulkAssignResult> results = new ArrayList<>();
+        List<User> assignees = new ArrayList<>();
+        if (byIds) {
+            Map<Long, User> found = users.findAllById(dto.userIds()).stream()
+                    .collect(Collectors.toMap(User::getId, Function.identity()));
+            for (Long id : new LinkedHashSet<>(dto.userIds())) {
+                User u = found.get(id);
+                if (u == null) results.add(BulkAssignResult.failed(id, "User not found"));
+                else if (!u.isEnabled()) results.add(BulkAssignResult.failed(id, "User is disabled"));
+                else assignees.add(u);
+            }
+        } else {
+            assignees = users.findAssignees(dto.role() != null ? dto.role() : Role.FACULTY, dto.department());
+        }
+        if (assignees.size() > maxBulkAssignees) {
+            throw new IllegalArgumentException("At most " + maxBulkAssignees + " assignees per request");
+        }
+        if (assignees.isEmpty()) return results;
+
+        List<Task> created = tasks.saveAll(assignees.stream()
+                .map(u -> Task.builder()
+                        .title(dto.title())
+                        .description(dto.description())
+                        .dueAt(dto.dueAt())
+                        .priority(dto.priority() == null ? 3 : dto.priority())
+                        .status(TaskStatus.PENDING)
+                        .assignedTo(u)
+                        .assignedBy(assigner)
+                        .build())
+                .toList());
+
+        rollups.recordCreated(created);
+        deadlines.schedule(created.stream().map(Task::getId).toList(), dto.dueAt());
+        outbox.append(created.stream().map(TaskEvent::created).toList());
+        created.forEach(t -> results.add(BulkAssignResult.created(t.getAssignedTo().getId(), t.getId())));
+        return results;
     }
-    private void requireStatusIn(Task t, TaskStatus... allowed) {
-        for (TaskStatus s : allowed) if (t.getStatus() == s) return;
-        throw new IllegalStateException("Invalid state. Was " + t.getStatus());
+
+    /**
+     * Direct status change (PUT /{id}/status); permission checks are done by the caller against
+     * {@code t} as loaded, and the change only applies if the task is still in that status.
+     */
+    @Transactional
+    public TaskView changeStatus(Task t, TaskStatus newStatus) {
+        TaskTransition done = transition(t.getId(), null, newStatus, t.getStatus());
+        if (DeadlineTimer.OPEN.contains(newStatus)) deadlines.schedule(t.getId(), done.dueAt());
+        else deadlines.cancel(t.getId());
+        return view(t.getId());
     }
 
     @Transactional
-    public Task start(Long taskId, User current) {
-        Task t = tasks.findById(taskId).orElseThrow(() -> new IllegalArgumentException("Task not found"));
-        requireAssignee(t, current);
-        requireNotLocked(t);
-        requireStatusIn(t, TaskStatus.PENDING, TaskStatus.OVERDUE);   // ← allow both
-        t.setStatus(TaskStatus.IN_PROGRESS);
-        return tasks.save(t);
+    public TaskView start(Long taskId, User current) {
+        transition(taskId, current.getId(), TaskStatus.IN_PROGRESS, TaskStatus.PENDING, TaskStatus.OVERDUE);
+        return view(taskId);
     }
 
     @Transactional
-    public Task submit(Long taskId, User current, SubmissionCreateDto dto) {
-        Task t = tasks.findById(taskId).orElseThrow(() -> new IllegalArgumentException("Task not found"));
-        requireAssignee(t, current);
-        requireNotLocked(t);
-        requireStatus(t, TaskStatus.IN_PROGRESS);
+    public TaskView submit(Long taskId, User current, SubmissionCreateDto dto) {
+        transition(taskId, current.getId(), TaskStatus.SUBMITTED, TaskStatus.IN_PROGRESS);
 
         TaskSubmission s = TaskSubmission.builder()
-                .task(t)
+                .task(tasks.getReferenceById(taskId))
                 .submittedBy(current)
                 .summary(dto.summary())
                 .links(dto.links())
@@ -69,36 +206,231 @@ public class TaskService {
                 .build();
         submissions.save(s);
 
-        t.setStatus(TaskStatus.SUBMITTED);
-        return tasks.save(t);
+        deadlines.cancel(taskId);
+        return view(taskId);
     }
 
     @Transactional
-    public Task review(Long taskId, User hod, ReviewDto dto) {
-        Task t = tasks.findById(taskId).orElseThrow(() -> new IllegalArgumentException("Task not found"));
-        if (hod.getRole() != portal.faculty.faculty_portal.user.Role.HOD) {
+    public TaskView review(Long taskId, User hod, ReviewDto dto) {
+        if (hod.getRole() != Role.HOD) {
             throw new AccessDeniedException("Only HOD can review.");
         }
-        requireStatus(t, TaskStatus.SUBMITTED);
 
-        TaskSubmission s = submissions
-                .findTopByTaskIdAndDecisionOrderBySubmittedAtDesc(taskId, ReviewDecision.PENDING)
-                .orElseThrow(() -> new IllegalStateException("No pending submission."));
+        TaskStatus to = reviewTarget(dto.decision());
+        TaskTransition done = transition(taskId, null, to, TaskStatus.SUBMITTED);
 
-        s.setDecision(dto.decision());
-        s.setDecisionNote(dto.note());
-        s.setDecidedAt(Instant.now());
-        s.setDecidedBy(hod);
-        submissions.save(s);
+        int decided = submissions.decideLatestPending(taskId, dto.decision().name(), dto.note(),
+                hod.getId(), Instant.now());
+        if (decided == 0) throw new ConflictException("No pending submission.");
+
+        if (to == TaskStatus.PENDING) deadlines.schedule(taskId, done.dueAt()); // back in play: re-arm its deadline
+        return view(taskId);
+    }
+
+    /**
+     * Works through a review queue in one transaction with set-based statements: one guarded UPDATE
+     * for the tasks, one for their pending submissions, and one lookup explaining any item that did
+     * not apply. Items are independent; a task someone else already reviewed is reported, not fatal.
+     */
+    @Transactional
+    public List<BatchReviewResult> reviewAll(BatchReviewDto dto, User hod) {
+        if (hod.getRole() != Role.HOD) {
+            throw new AccessDeniedException("Only HOD can review.");
+        }
+        if (dto.items().size() > maxReviewBatch) {
+            throw new IllegalArgumentException("At most " + maxReviewBatch + " items per batch");
+        }
+
+        Map<Long, BatchReviewDto.Item> items = new LinkedHashMap<>();
+        Map<Long, String> errors = new HashMap<>();
+        for (BatchReviewDto.Item item : dto.items()) {
+            if (item.decision() == ReviewDecision.PENDING) errors.put(item.taskId(), "Decision must be APPROVED or REJECTED");
+            else if (items.putIfAbsent(item.taskId(), item) != null) errors.put(item.taskId(), "Listed more than once");
+        }
+        items.keySet().removeAll(errors.keySet());
+
+        Instant now = Instant.now();
+        List<TaskTransition> done = List.of();
+        if (!items.isEmpty()) {
+            done = tasks.reviewAll(items.keySet().toArray(Long[]::new),
+                            items.values().stream().map(i -> reviewTarget(i.decision()).name()).toArray(String[]::new),
+                            now).stream()
+                    .map(r -> {
+                        Long id = ((Number) r[0]).longValue();
+                        return new TaskTransition(id, TaskStatus.SUBMITTED, reviewTarget(items.get(id).decision()),
+                                OverdueFlip.toInstant(r[1]), (String) r[2], OverdueFlip.toInstant(r[3]),
+                                ((Number) r[4]).longValue());
+                    })
+                    .toList();
+        }
+
+        if (!done.isEmpty()) {
+            List<BatchReviewDto.Item> decided = done.stream().map(t -> items.get(t.taskId())).toList();
+            int n = submissions.decideAllPending(
+                    decided.stream().map(BatchReviewDto.Item::taskId).toArray(Long[]::new),
+                    decided.stream().map(i -> i.decision().name()).toArray(String[]::new),
+                    decided.stream().map(BatchReviewDto.Item::note).toArray(String[]::new),
+                    hod.getId(), now);
+            if (n != done.size()) {
+                // the task rows are locked, so this means submissions were edited outside the workflow
+                throw new ConflictException("Submissions changed during review; retry the batch.");
+            }
+            rollups.recordTransitions(done);
+            done.stream().filter(t -> t.to() == TaskStatus.PENDING)
+                    .forEach(t -> deadlines.schedule(t.taskId(), t.dueAt())); // back in play: re-arm
+            outbox.append(done.stream().map(t -> TaskEvent.of(t, now)).toList());
+        }
+
+        Map<Long, TaskStatus> applied = done.stream()
+                .collect(Collectors.toMap(TaskTransition::taskId, TaskTransition::to));
+        List<Long> skipped = items.keySet().stream().filter(id -> !applied.containsKey(id)).toList();
+        if (!skipped.isEmpty()) {
+            Map<Long, TaskStatus> current = new HashMap<>();
+            for (Object[] r : tasks.findStatuses(skipped)) current.put((Long) r[0], (TaskStatus) r[1]);
+            for (Long id : skipped) {
+                TaskStatus st = current.get(id);
+                errors.put(id, st == null ? "Task not found"
+                        : st == TaskStatus.SUBMITTED ? "No pending submission."
+                        : "Task is " + st + "; it may have been reviewed already.");
+            }
+        }
+
+        return dto.items().stream().map(BatchReviewDto.Item::taskId).distinct()
+                .map(id -> applied.containsKey(id)
+                        ? BatchReviewResult.applied(id, applied.get(id).name())
+                        : BatchReviewResult.failed(id, errors.get(id)))
+                .toList();
+    }
+
+    /** APPROVED locks the task; anything else sends it back to the assignee. */
+    private static TaskStatus reviewTarget(ReviewDecision decision) {
+        return decision == ReviewDecision.APPROVED ? TaskStatus.COMPLETED : TaskStatus.PENDING;
+    }
+
+    /** One keyset page of tasks matching the query; {@code assigneeId} null means all assignees. */
+    @Transactional(readOnly = true)
+    public TaskPage listPage(TaskListQuery q, Long assigneeId) {
+        TaskSort sort = q.getSort() == null ? TaskSort.DUE_AT : q.getSort();
+        TaskCursor after = TaskCursor.decode(q.getCursor(), sort);
+        int limit = q.effectiveLimit();
+
+        List<TaskView> rows = taskViews.findPage(q, assigneeId, sort, after, limit + 1);
 
-        if (dto.decision() == ReviewDecision.APPROVED) {
-            t.setStatus(TaskStatus.COMPLETED);
-            t.setLocked(true);
-        } else { // REJECTED
-            t.setStatus(TaskStatus.PENDING);
-            t.setLocked(false);
+        String next = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            next = TaskCursor.after(sort, rows.get(limit - 1)).encode();
         }
-        return tasks.save(t);
+        Long total = q.isIncludeTotal() ? taskViews.count(q, assigneeId) : null; // same snapshot as the rows
+        return new TaskPage(rows, next, total);
+    }
+
+    // No @Transactional on the facet/id reads: the cube path must not take a connection, and each
+    // SQL fallback statement runs on its own.
+
+    /**
+     * Facet counts for the task list filters (GET /api/tasks/facets): bitmap intersections in the
+     * task cube once it is loaded, else one grouped query per facet. Cube answers may lag a commit by
+     * up to one refresh round (app.analytics.cube.poll-interval), so they can disagree with listPage.
+     */
+    public TaskFacets facets(TaskListQuery q, Long assigneeId) {
+        return cube.facets(q, assigneeId).orElseGet(() -> {
+            Map<TaskStatus, Long> status = new EnumMap<>(TaskStatus.class);
+            for (TaskStatus s : TaskStatus.values()) status.put(s, 0L);
+            taskViews.countBy(q, assigneeId, TaskReadRepository.Facet.STATUS)
+                    .forEach((s, n) -> status.put((TaskStatus) s, n));
+            Map<Integer, Long> priority = new TreeMap<>();
+            taskViews.countBy(q, assigneeId, TaskReadRepository.Facet.PRIORITY)
+                    .forEach((p, n) -> priority.put((Integer) p, n));
+            Map<String, Long> department = new TreeMap<>();
+            taskViews.countBy(q, assigneeId, TaskReadRepository.Facet.DEPARTMENT)
+                    .forEach((d, n) -> department.put((String) d, n));
+            Map<Long, Long> assignee = null;
+            if (assigneeId == null) {
+                assignee = new TreeMap<>();
+                Map<Long, Long> byAssignee = assignee;
+                taskViews.countBy(q, null, TaskReadRepository.Facet.ASSIGNEE)
+                        .forEach((a, n) -> byAssignee.put((Long) a, n));
+            }
+            return new TaskFacets(taskViews.count(q, assigneeId), status, priority, department, assignee);
+        });
+    }
+
+    /**
+     * One page of ids of the tasks the query matches, ascending (GET /api/tasks/ids), e.g. to select
+     * a whole filtered list; the cursor is the last id of the previous page. Ids and total come from
+     * the task cube once it is loaded and may lag a commit by up to one refresh round, like facets.
+     */
+    public TaskIdPage ids(TaskListQuery q, Long assigneeId) {
+        long after = 0;
+        if (q.getCursor() != null && !q.getCursor().isBlank()) {
+            try {
+                after = Long.parseLong(q.getCursor());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+        int limit = q.effectiveLimit();
+        long afterId = after;
+
+        List<Long> ids = cube.ids(q, assigneeId, afterId, limit + 1)
+                .orElseGet(() -> taskViews.findIds(q, assigneeId, afterId, limit + 1));
+        String next = null;
+        if (ids.size() > limit) {
+            ids = ids.subList(0, limit);
+            next = String.valueOf(ids.get(limit - 1));
+        }
+        Long total = q.isIncludeTotal()
+                ? cube.count(q, assigneeId).orElseGet(() -> taskViews.count(q, assigneeId))
+                : null;
+        return new TaskIdPage(ids, next, total);
+    }
+
+    /**
+     * Delta sync (GET /api/tasks/changes): tasks created or changed after the cursor plus those that
+     * left the caller's view. Pages stop before the start of the oldest transaction still writing
+     * (see {@link TaskRepository#findOldestWriteStart}), so a write that commits long after its
+     * updatedAt was stamped (lock waits, a large bulk assignment) can't fall behind a cursor;
+     * {@code settle} more covers clock skew between the application and the database.
+     */
+    @Transactional(readOnly = true)
+    public TaskChanges changesSince(String since, Integer limit, Long assigneeId) {
+        TaskCursor after = TaskCursor.decode(since, TaskSort.UPDATED_AT);
+        int n = limit == null || limit <= 0 ? TaskListQuery.DEFAULT_LIMIT : Math.min(limit, MAX_CHANGES);
+        Instant oldestWrite = tasks.findOldestWriteStart();
+        Instant now = Instant.now();
+        Instant until = (oldestWrite.isBefore(now) ? oldestWrite : now).minus(changesSettle);
+
+        List<TaskView> rows = taskViews.findChanges(assigneeId, after, until, n + 1);
+        boolean more = rows.size() > n;
+        TaskCursor next;
+        if (more) {
+            rows = rows.subList(0, n);
+            next = TaskCursor.after(TaskSort.UPDATED_AT, rows.get(n - 1));
+        } else if (after != null && after.key() != null && !after.key().isBefore(until)) {
+            next = after; // polled again within the settle window
+        } else {
+            next = new TaskCursor(TaskSort.UPDATED_AT, until, Long.MAX_VALUE); // caught up to `until`
+        }
+
+        // a fresh client (no cursor) has nothing to remove
+        List<Long> removed = after == null || after.key() == null || !next.key().isAfter(after.key())
+                ? List.of()
+                : tasks.findTombstones(assigneeId, after.key(), next.key());
+        return new TaskChanges(rows, removed, next.encode(), more);
+    }
+
+    /**
+     * ETag for a task list page: versions the whole visible collection (HOD: all tasks, faculty:
+     * their own) together with the query string. The version counters are bumped in the writing
+     * transaction, so a write that commits late still changes the ETag.
+     */
+    @Transactional(readOnly = true)
+    public String listETag(Long assigneeId, String queryString) {
+        Object[] v = (assigneeId == null
+                ? tasks.findCollectionVersion()
+                : tasks.findCollectionVersionByAssignee(assigneeId)).get(0);
+        return ETags.of("tasks", assigneeId, v[0], v[1], queryString);
     }
 
     @Transactional(readOnly = true)
@@ -0,0 +1,29 @@
+package portal.faculty.faculty_portal.task;
+
+import org.springframework.data.domain.Sort;
+import portal.faculty.faculty_portal.task.dto.TaskView;
+
+import java.time.Instant;
+
+/** Keyset orderings supported by the task list; {@code id} is always the tie-breaker. */
+public enum TaskSort {
+    DUE_AT("dueAt", Sort.Direction.ASC),        // soonest deadline first, no deadline last
+    CREATED_AT("createdAt", Sort.Direction.DESC), // newest first
+    UPDATED_AT("updatedAt", Sort.Direction.ASC);  // oldest change first (delta sync)
+
+    final String property;
+    final Sort.Direction direction;
+
+    TaskSort(String property, Sort.Direction direction) {
+        this.property = property;
+        this.direction = direction;
+    }
+
+    Instant keyOf(TaskView t) {
+        return switch (this) {
+            case DUE_AT -> t.getDueAt();
+            case CREATED_AT -> t.getCreatedAt();
+            case UPDATED_AT -> t.getUpdatedAt();
+        };
+    }
+}
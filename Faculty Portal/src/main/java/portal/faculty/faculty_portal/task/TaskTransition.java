@@ -0,0 +1,15 @@
+package portal.faculty.faculty_portal.task;
+
+import java.time.Instant;
+
+/** Outcome of a guarded status UPDATE: both statuses plus what the rollup, deadline timer and push need. */
+public record TaskTransition(Long taskId, TaskStatus from, TaskStatus to,
+                             Instant createdAt, String department, Instant dueAt, Long assigneeId) {
+
+    /** From a native [previous status, created_at, department, due_at, assignee id] row as returned by {@link TaskRepository#transition}. */
+    static TaskTransition fromRow(Long taskId, TaskStatus to, Object[] r) {
+        return new TaskTransition(taskId, TaskStatus.valueOf((String) r[0]), to,
+                OverdueFlip.toInstant(r[1]), (String) r[2], OverdueFlip.toInstant(r[3]),
+                ((Number) r[4]).longValue());
+    }
+}
@@ -0,0 +1,19 @@
+package portal.faculty.faculty_portal.task.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import portal.faculty.faculty_portal.task.ReviewDecision;
+
+import java.util.List;
+
+/** A HOD's review queue, decided in one request. */
+public record BatchReviewDto(
+        @NotEmpty List<@Valid @NotNull Item> items
+) {
+    public record Item(
+            @NotNull Long taskId,
+            @NotNull ReviewDecision decision, // APPROVED or REJECTED
+            String note
+    ) {}
+}
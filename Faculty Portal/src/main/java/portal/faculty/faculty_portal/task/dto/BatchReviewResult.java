@@ -0,0 +1,13 @@
+package portal.faculty.faculty_portal.task.dto;
+
+/** Outcome for one task of a batch review: its new status, or why it was left alone. */
+public record BatchReviewResult(Long taskId, String status, String error) {
+
+    public static BatchReviewResult applied(Long taskId, String status) {
+        return new BatchReviewResult(taskId, status, null);
+    }
+
+    public static BatchReviewResult failed(Long taskId, String error) {
+        return new BatchReviewResult(taskId, null, error);
+    }
+}
@@ -0,0 +1,21 @@
+package portal.faculty.faculty_portal.task.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import portal.faculty.faculty_portal.user.Role;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * One task template for many assignees. Give either {@code userIds}, or a {@code department}
+ * and/or {@code role} (department alone means its FACULTY members).
+ */
+public record BulkAssignDto(
+        @NotBlank String title,
+        String description,
+        Instant dueAt,
+        Integer priority,       // optional (default 3)
+        List<Long> userIds,
+        String department,
+        Role role
+) {}
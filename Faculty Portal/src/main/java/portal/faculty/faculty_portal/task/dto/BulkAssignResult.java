@@ -0,0 +1,13 @@
+package portal.faculty.faculty_portal.task.dto;
+
+/** Outcome for one assignee of a bulk assignment: the new task id, or why none was created. */
+public record BulkAssignResult(Long userId, Long taskId, String error) {
+
+    public static BulkAssignResult created(Long userId, Long taskId) {
+        return new BulkAssignResult(userId, taskId, null);
+    }
+
+    public static BulkAssignResult failed(Long userId, String error) {
+        return new BulkAssignResult(userId, null, error);
+    }
+}
@@ -0,0 +1,9 @@
+package portal.faculty.faculty_portal.task.dto;
+
+import java.util.List;
+
+/**
+ * One delta-sync response: tasks created or changed since the cursor, ids of tasks that left the
+ * caller's view, and the cursor to send next time. {@code hasMore} means call again right away.
+ */
+public record TaskChanges(List<TaskView> changed, List<Long> removed, String cursor, boolean hasMore) {}
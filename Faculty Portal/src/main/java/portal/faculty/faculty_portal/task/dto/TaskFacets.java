@@ -0,0 +1,17 @@
+package portal.faculty.faculty_portal.task.dto;
+
+import portal.faculty.faculty_portal.task.TaskStatus;
+
+import java.util.Map;
+
+/**
+ * Facet counts for the task list filters (GET /api/tasks/facets). Each facet applies every filter
+ * of the query except its own, so the counts of the other values stay visible once one is picked.
+ * {@code status} lists every status, the other maps only values with tasks; {@code assignee}
+ * (user id -> count) is null when the list is restricted to one assignee.
+ */
+public record TaskFacets(long total,
+                         Map<TaskStatus, Long> status,
+                         Map<Integer, Long> priority,
+                         Map<String, Long> department,
+                         Map<Long, Long> assignee) {}
@@ -0,0 +1,6 @@
+package portal.faculty.faculty_portal.task.dto;
+
+import java.util.List;
+
+/** One page of matching task ids in ascending order; {@code nextCursor} is null on the last page. */
+public record TaskIdPage(List<Long> ids, String nextCursor, Long total) {}
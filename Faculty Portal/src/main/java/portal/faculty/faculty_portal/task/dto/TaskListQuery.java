@@ -0,0 +1,32 @@
+package portal.faculty.faculty_portal.task.dto;
+
+import lombok.Data;
+import portal.faculty.faculty_portal.task.TaskSort;
+import portal.faculty.faculty_portal.task.TaskStatus;
+
+import java.time.Instant;
+import java.util.List;
+
+/** Query parameters of GET /api/tasks and /api/tasks/by-user/{userId}. */
+@Data
+public class TaskListQuery {
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+
+    private List<TaskStatus> status;  // ?status=PENDING&status=OVERDUE or ?status=PENDING,OVERDUE
+    private Integer minPriority;
+    private Integer maxPriority;
+    private String department;        // assignee's department
+    private Instant dueFrom;          // inclusive
+    private Instant dueTo;            // exclusive
+    private Long assignedBy;          // assigner user id
+    private TaskSort sort = TaskSort.DUE_AT;
+    private String cursor;            // X-Next-Cursor of the previous page
+    private Integer limit;
+    private boolean includeTotal;
+
+    public int effectiveLimit() {
+        if (limit == null || limit <= 0) return DEFAULT_LIMIT;
+        return Math.min(limit, MAX_LIMIT);
+    }
+}
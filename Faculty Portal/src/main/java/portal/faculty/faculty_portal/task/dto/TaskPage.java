@@ -0,0 +1,6 @@
+package portal.faculty.faculty_portal.task.dto;
+
+import java.util.List;
+
+/** One keyset page; {@code nextCursor} is null on the last page, {@code total} only when requested. */
+public record TaskPage(List<TaskView> items, String nextCursor, Long total) {}
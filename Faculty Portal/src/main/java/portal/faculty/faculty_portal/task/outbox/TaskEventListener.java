@@ -0,0 +1,12 @@
+package portal.faculty.faculty_portal.task.outbox;
+
+import portal.faculty.faculty_portal.task.TaskEvent;
+
+/**
+ * Downstream work on committed task changes, called by {@link TaskOutboxRelay} off the request path.
+ * Delivery is at least once and in order per task: an event is redelivered (to every listener) if
+ * any listener throws, so implementations must tolerate seeing the same event twice.
+ */
+public interface TaskEventListener {
+    void onTaskEvent(TaskEvent event);
+}
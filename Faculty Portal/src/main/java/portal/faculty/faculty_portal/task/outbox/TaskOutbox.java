@@ -0,0 +1,43 @@
+package portal.faculty.faculty_portal.task.outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import portal.faculty.faculty_portal.common.AfterCommit;
+import portal.faculty.faculty_portal.task.TaskEvent;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Records task events in the caller's transaction, so they exist exactly when the change commits.
+ * Delivery happens later on the relay thread; committing only nudges it.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskOutbox {
+
+    private final TaskOutboxRepository entries;
+    private final TaskOutboxRelay relay;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(TaskEvent event) {
+        append(List.of(event));
+    }
+
+    /** One INSERT for the whole batch. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(Collection<TaskEvent> events) {
+        if (events.isEmpty()) return;
+        entries.append(
+                events.stream().map(TaskEvent::taskId).toArray(Long[]::new),
+                events.stream().map(e -> e.status().name()).toArray(String[]::new),
+                events.stream().map(e -> e.previousStatus() == null ? null : e.previousStatus().name()).toArray(String[]::new),
+                events.stream().map(TaskEvent::assigneeId).toArray(Long[]::new),
+                events.stream().map(TaskEvent::department).toArray(String[]::new),
+                events.stream().map(TaskEvent::at).toArray(Instant[]::new));
+        AfterCommit.run(relay::wake);
+    }
+}
@@ -0,0 +1,47 @@
+package portal.faculty.faculty_portal.task.outbox;
+
+import jakarta.persistence.*;
+import lombok.*;
+import portal.faculty.faculty_portal.task.TaskEvent;
+import portal.faculty.faculty_portal.task.TaskStatus;
+
+import java.time.Instant;
+
+/** One undelivered {@link TaskEvent}; rows are inserted by {@link TaskOutbox} and removed by the relay. */
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Entity @Table(name = "task_outbox")
+public class TaskOutboxEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long taskId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private TaskStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private TaskStatus previousStatus;
+
+    @Column(nullable = false)
+    private Long assigneeId;
+
+    private String department;
+
+    @Column(nullable = false)
+    private Instant occurredAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(nullable = false)
+    private Instant availableAt;
+
+    public TaskEvent toEvent() {
+        return new TaskEvent(taskId, status, previousStatus, assigneeId, department, occurredAt);
+    }
+}
@@ -0,0 +1,165 @@
+package portal.faculty.faculty_portal.task.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import portal.faculty.faculty_portal.task.TaskEvent;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Delivers outbox rows to the {@link TaskEventListener}s on one dedicated thread per node.
+ * <p>
+ * Each round claims a batch with {@code FOR UPDATE SKIP LOCKED}, runs the listeners, and deletes the
+ * delivered rows in the same transaction, so several nodes can relay side by side and a crash just
+ * means redelivery. Each round takes only the oldest event of each task, and rounds follow each other
+ * until one finds nothing due. A failing event is retried with backoff and holds back the later events
+ * of its task until it gets through (or is given up on after {@code max-attempts}). The relay polls every
+ * {@code poll-interval} and is also woken by each commit that appended events.
+ */
+@Slf4j
+@Component
+public class TaskOutboxRelay {
+
+    private static final long MAX_RETRY_DELAY_SECONDS = 300;
+
+    private final TaskOutboxRepository entries;
+    private final List<TaskEventListener> listeners;
+    private final TransactionTemplate tx;
+    private final Duration pollInterval;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final boolean enabled;
+
+    private final ScheduledThreadPoolExecutor executor;
+    private final AtomicBoolean wakeQueued = new AtomicBoolean();
+    private volatile Instant oldestPending;
+
+    private final Timer lag;
+    private final Counter delivered;
+    private final Counter retried;
+    private final Counter abandoned;
+
+    public TaskOutboxRelay(TaskOutboxRepository entries,
+                           List<TaskEventListener> listeners,
+                           PlatformTransactionManager txManager,
+                           MeterRegistry meters,
+                           @Value("${app.tasks.outbox.poll-interval:PT1S}") Duration pollInterval,
+                           @Value("${app.tasks.outbox.batch-size:200}") int batchSize,
+                           @Value("${app.tasks.outbox.max-attempts:10}") int maxAttempts,
+                           @Value("${app.tasks.outbox.relay.enabled:true}") boolean enabled) {
+        this.entries = entries;
+        this.listeners = listeners;
+        this.tx = new TransactionTemplate(txManager);
+        this.pollInterval = pollInterval;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.enabled = enabled;
+
+        this.executor = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread t = new Thread(r, "task-outbox-relay");
+            t.setDaemon(true);
+            return t;
+        });
+
+        this.lag = Timer.builder("tasks.outbox.lag")
+                .description("Time from a task change to its delivery to the listeners")
+                .register(meters);
+        this.delivered = Counter.builder("tasks.outbox.delivered")
+                .description("Task events delivered to all listeners")
+                .register(meters);
+        this.retried = Counter.builder("tasks.outbox.retried")
+                .description("Task event deliveries that failed and were scheduled for a retry")
+                .register(meters);
+        this.abandoned = Counter.builder("tasks.outbox.abandoned")
+                .description("Task events dropped after max-attempts failed deliveries")
+                .register(meters);
+        Gauge.builder("tasks.outbox.oldest.age", this,
+                        r -> r.oldestPending == null ? 0 : Duration.between(r.oldestPending, Instant.now()).toMillis() / 1000.0)
+                .description("Age in seconds of the oldest undelivered task event, as of the last relay round")
+                .baseUnit("seconds")
+                .register(meters);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) return; // events stay in the outbox for a node that relays
+        executor.scheduleWithFixedDelay(this::relay, 0, pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /** Asks for a round right away; wake-ups arriving while one is queued are folded into it. */
+    public void wake() {
+        if (enabled && wakeQueued.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                wakeQueued.set(false);
+                relay();
+            });
+        }
+    }
+
+    private void relay() {
+        try {
+            while (deliverBatch() > 0) {
+                // the next events of the tasks just delivered may be due now
+            }
+            oldestPending = entries.findOldestPending();
+        } catch (RuntimeException e) {
+            // the rows stay put; the next round picks them up
+            log.warn("Task outbox relay failed", e);
+        }
+    }
+
+    /** Claims, delivers and settles one batch in one transaction; returns how many rows were claimed. */
+    int deliverBatch() {
+        return tx.execute(status -> {
+            Instant now = Instant.now();
+            List<TaskOutboxEntry> batch = entries.claim(now, batchSize);
+
+            List<Long> done = new ArrayList<>();
+            List<Long> failed = new ArrayList<>();
+            for (TaskOutboxEntry entry : batch) {
+                TaskEvent event = entry.toEvent();
+                try {
+                    listeners.forEach(l -> l.onTaskEvent(event));
+                    done.add(entry.getId());
+                    delivered.increment();
+                    lag.record(Duration.between(event.at(), Instant.now()));
+                } catch (RuntimeException e) {
+                    log.warn("Task event {} (task {}) failed, attempt {}",
+                            entry.getId(), entry.getTaskId(), entry.getAttempts() + 1, e);
+                    if (entry.getAttempts() + 1 >= maxAttempts) {
+                        done.add(entry.getId());
+                        abandoned.increment();
+                    } else {
+                        failed.add(entry.getId());
+                    }
+                }
+            }
+
+            if (!done.isEmpty()) entries.deleteDelivered(done);
+            if (!failed.isEmpty()) entries.retryLater(failed, now, MAX_RETRY_DELAY_SECONDS);
+            retried.increment(failed.size());
+            return batch.size();
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,63 @@
+package portal.faculty.faculty_portal.task.outbox;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface TaskOutboxRepository extends JpaRepository<TaskOutboxEntry, Long> {
+
+    /** Inserts one row per array position in a single statement. */
+    @Modifying
+    @Query(value = """
+            INSERT INTO task_outbox (task_id, status, previous_status, assignee_id, department, occurred_at)
+            SELECT * FROM unnest(CAST(:taskIds AS bigint[]), CAST(:statuses AS varchar[]),
+                                 CAST(:previous AS varchar[]), CAST(:assigneeIds AS bigint[]),
+                                 CAST(:departments AS varchar[]), CAST(:occurredAt AS timestamptz[]))
+            """, nativeQuery = true)
+    int append(@Param("taskIds") Long[] taskIds,
+               @Param("statuses") String[] statuses,
+               @Param("previous") String[] previous,
+               @Param("assigneeIds") Long[] assigneeIds,
+               @Param("departments") String[] departments,
+               @Param("occurredAt") Instant[] occurredAt);
+
+    /**
+     * Locks up to {@code batch} due rows in id order, skipping rows another relay holds. Only the
+     * oldest remaining row of each task qualifies, so per-task order holds across relays, and the
+     * rows behind one waiting for a retry stay out of the window instead of crowding out other tasks.
+     */
+    @Query(value = """
+            SELECT * FROM task_outbox o
+            WHERE o.available_at <= :now
+              AND NOT EXISTS (SELECT 1 FROM task_outbox p WHERE p.task_id = o.task_id AND p.id < o.id)
+            ORDER BY o.id
+            LIMIT :batch
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<TaskOutboxEntry> claim(@Param("now") Instant now, @Param("batch") int batch);
+
+    @Modifying
+    @Query("DELETE FROM TaskOutboxEntry e WHERE e.id IN :ids")
+    int deleteDelivered(@Param("ids") Collection<Long> ids);
+
+    /** Backs failed rows off exponentially: 2^attempts seconds, capped at {@code maxDelaySeconds}. */
+    @Modifying
+    @Query(value = """
+            UPDATE task_outbox
+            SET attempts = attempts + 1,
+                available_at = CAST(:now AS timestamptz) + make_interval(secs => least(power(2, attempts), :maxDelaySeconds))
+            WHERE id IN (:ids)
+            """, nativeQuery = true)
+    int retryLater(@Param("ids") Collection<Long> ids,
+                   @Param("now") Instant now,
+                   @Param("maxDelaySeconds") long maxDelaySeconds);
+
+    /** When the oldest undelivered event happened (null when the outbox is empty). */
+    @Query("SELECT e.occurredAt FROM TaskOutboxEntry e ORDER BY e.id LIMIT 1")
+    Instant findOldestPending();
+}
@@ -2,6 +2,8 @@ package portal.faculty.faculty_portal.task.submission;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 import portal.faculty.faculty_portal.task.ReviewDecision;
 import portal.faculty.faculty_portal.task.Task;
 import portal.faculty.faculty_portal.user.User;
@@ -29,9 +31,10 @@ public class TaskSubmission {
     @Column(columnDefinition = "text", nullable = false)
     private String summary;
 
-    @ElementCollection
-    @CollectionTable(name = "task_submission_links", joinColumns = @JoinColumn(name = "submission_id"))
-    @Column(name = "url", nullable = false)
+    // Inline text[] rather than an element collection, so loading a submission is a single row
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(columnDefinition = "text[]", nullable = false)
+    @Builder.Default
     private List<String> links = new ArrayList<>();
 
     @Column(nullable = false)
@@ -1,8 +1,12 @@
 package portal.faculty.faculty_portal.task.submission;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import portal.faculty.faculty_portal.task.ReviewDecision;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -10,5 +14,45 @@ public interface TaskSubmissionRepository extends JpaRepository<TaskSubmission,
 
     Optional<TaskSubmission> findTopByTaskIdAndDecisionOrderBySubmittedAtDesc(Long taskId, ReviewDecision decision);
 
-    List<TaskSubmission> findByTaskIdOrderBySubmittedAtDesc(Long taskId);
+    /** Submission history of a task, submitter and decider included, in one statement. */
+    @Query("SELECT s FROM TaskSubmission s JOIN FETCH s.submittedBy LEFT JOIN FETCH s.decidedBy"
+            + " WHERE s.task.id = :taskId ORDER BY s.submittedAt DESC")
+    List<TaskSubmission> findByTaskIdOrderBySubmittedAtDesc(@Param("taskId") Long taskId);
+
+    /** Records the decision on the task's latest PENDING submission; 0 if there is none left to decide. */
+    @Modifying
+    @Query(value = """
+            UPDATE task_submissions
+            SET decision = :decision, decision_note = :note, decided_at = :now, decided_by_id = :hodId
+            WHERE id = (SELECT id FROM task_submissions
+                        WHERE task_id = :taskId AND decision = 'PENDING'
+                        ORDER BY submitted_at DESC
+                        LIMIT 1)
+            """, nativeQuery = true)
+    int decideLatestPending(@Param("taskId") Long taskId,
+                            @Param("decision") String decision,
+                            @Param("note") String note,
+                            @Param("hodId") Long hodId,
+                            @Param("now") Instant now);
+
+    /**
+     * Set-based {@link #decideLatestPending}: records {@code decisions[i]} / {@code notes[i]} on the
+     * latest pending submission of {@code taskIds[i]}. Returns the number of submissions decided.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE task_submissions s
+            SET decision = d.decision, decision_note = d.note, decided_at = :now, decided_by_id = :hodId
+            FROM (SELECT DISTINCT ON (p.task_id) p.id, v.decision, v.note
+                  FROM unnest(CAST(:taskIds AS bigint[]), CAST(:decisions AS varchar[]), CAST(:notes AS text[]))
+                       AS v(task_id, decision, note)
+                  JOIN task_submissions p ON p.task_id = v.task_id AND p.decision = 'PENDING'
+                  ORDER BY p.task_id, p.submitted_at DESC) d
+            WHERE s.id = d.id
+            """, nativeQuery = true)
+    int decideAllPending(@Param("taskIds") Long[] taskIds,
+                         @Param("decisions") String[] decisions,
+                         @Param("notes") String[] notes,
+                         @Param("hodId") Long hodId,
+                         @Param("now") Instant now);
 }
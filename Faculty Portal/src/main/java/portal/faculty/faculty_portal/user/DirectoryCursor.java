@@ -0,0 +1,32 @@
+package portal.faculty.faculty_portal.user;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position after the last row of a directory page: the owner's name and id.
+ * Serialized as an opaque base64url token; clients must pass it back unchanged.
+ */
+record DirectoryCursor(String name, long userId) {
+
+    static DirectoryCursor after(PortfolioRow last) {
+        return new DirectoryCursor(last.userName(), last.userId());
+    }
+
+    String encode() {
+        String raw = userId + "|" + name;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Returns null for a missing cursor (first page). */
+    static DirectoryCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int bar = raw.indexOf('|');
+            return new DirectoryCursor(raw.substring(bar + 1), Long.parseLong(raw.substring(0, bar)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
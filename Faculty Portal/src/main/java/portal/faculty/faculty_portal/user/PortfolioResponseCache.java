@@ -0,0 +1,98 @@
+package portal.faculty.faculty_portal.user;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import portal.faculty.faculty_portal.common.AfterCommit;
+import portal.faculty.faculty_portal.user.dto.PortfolioView;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Public portfolio responses (GET /api/portfolio/user/{id}) as ready-to-send gzipped JSON plus ETag,
+ * per user id. Users without a portfolio are cached too, for a shorter time. Bounded by total bytes.
+ * <p>
+ * Entries are dropped when the portfolio is written on this node; the TTL bounds staleness from
+ * writes on other nodes and from edits to the owner's user row.
+ */
+@Component
+public class PortfolioResponseCache {
+
+    /** A cached response; {@code gzippedJson} is null for "no portfolio". */
+    public record Response(byte[] gzippedJson, String etag) {
+        public boolean exists() {
+            return gzippedJson != null;
+        }
+
+        /** For the rare client that doesn't accept gzip. */
+        public byte[] json() {
+            try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzippedJson))) {
+                return in.readAllBytes();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private static final Response MISSING = new Response(null, null);
+
+    private final ObjectMapper json;
+    private final Cache<Long, Response> cache;
+
+    public PortfolioResponseCache(ObjectMapper json,
+                                  MeterRegistry meters,
+                                  @Value("${app.portfolio.cache.max-bytes:33554432}") long maxBytes,
+                                  @Value("${app.portfolio.cache.ttl:PT10M}") Duration ttl,
+                                  @Value("${app.portfolio.cache.missing-ttl:PT1M}") Duration missingTtl) {
+        this.json = json;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Long id, Response r) -> r.exists() ? r.gzippedJson().length + 64 : 64)
+                .expireAfter(Expiry.creating((Long id, Response r) -> r.exists() ? ttl : missingTtl))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meters, cache, "portfolio.responses");
+    }
+
+    /** The cached response for {@code userId}, loading it with {@code loader} on a miss; empty if there is no portfolio. */
+    public Optional<Response> get(Long userId, Function<Long, Optional<Response>> loader) {
+        Response r = cache.get(userId, id -> loader.apply(id).orElse(MISSING));
+        return r.exists() ? Optional.of(r) : Optional.empty();
+    }
+
+    /** Serializes and compresses a view once, at load time. */
+    public Response encode(PortfolioView view, String etag) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            json.writeValue(gzip, view);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize portfolio " + view.getId(), e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new Response(bytes.toByteArray(), etag);
+    }
+
+    /**
+     * Drops the entry now and again after commit, so a read that reloaded the old row
+     * while the write was in flight doesn't stay cached.
+     */
+    public void invalidate(Long userId) {
+        cache.invalidate(userId);
+        AfterCommit.run(() -> cache.invalidate(userId));
+    }
+}
@@ -0,0 +1,27 @@
+package portal.faculty.faculty_portal.user;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat constructor projection of a portfolio joined with its owner (see the directory queries in
+ * {@link UserPortfolioRepository}). In summary rows the long text fields are null.
+ */
+public record PortfolioRow(
+        Long id,
+        Long userId,
+        String userName,
+        String userEmail,
+        Role userRole,
+        String userDepartment,
+        String bio,
+        String websiteUrl,
+        String linkedinUrl,
+        String githubUrl,
+        String twitterUrl,
+        String researchInterests,
+        String achievements,
+        String education,
+        String experience,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {}
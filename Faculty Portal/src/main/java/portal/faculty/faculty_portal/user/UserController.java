@@ -3,6 +3,7 @@ package portal.faculty.faculty_portal.user;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -17,7 +18,8 @@ public class UserController {
 
     // Endpoint to get all faculty members
     @GetMapping("/faculty")
-    public ResponseEntity<List<MiniUserView>> getFacultyMembers() {
+    public ResponseEntity<List<MiniUserView>> getFacultyMembers(WebRequest request) {
+        if (request.checkNotModified(userService.getFacultyMembersETag())) return null;
         List<MiniUserView> faculty = userService.getFacultyMembers();
         return ResponseEntity.ok(faculty);
     }
@@ -2,20 +2,30 @@ package portal.faculty.faculty_portal.user;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import portal.faculty.faculty_portal.user.dto.PortfolioCreateDto;
+import portal.faculty.faculty_portal.user.dto.PortfolioDirectoryQuery;
+import portal.faculty.faculty_portal.user.dto.PortfolioPage;
 import portal.faculty.faculty_portal.user.dto.PortfolioView;
 
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/portfolio")
 @RequiredArgsConstructor
 public class UserPortfolioController {
 
+    /** Same paging header as the task lists (exposed in CorsConfig). */
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final UserPortfolioService portfolioService;
 
     /**
@@ -49,17 +59,72 @@ public class UserPortfolioController {
     }
 
     /**
-     * Get portfolio by user ID (public access)
+     * Get portfolio by user ID (public access), served from the response cache as gzipped JSON;
+     * 304 if unchanged since the client's ETag. The gzip and identity bodies carry different ETags,
+     * as strong validators must per content-coding.
      */
     @GetMapping("/user/{userId}")
-    public ResponseEntity<PortfolioView> getPortfolioByUserId(@PathVariable Long userId) {
-        return portfolioService.findByUserId(userId)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<byte[]> getPortfolioByUserId(@PathVariable Long userId, WebRequest request) {
+        Optional<PortfolioResponseCache.Response> cached = portfolioService.findPublicResponse(userId);
+        if (cached.isEmpty()) return ResponseEntity.notFound().build();
+
+        PortfolioResponseCache.Response r = cached.get();
+        boolean gzip = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        String etag = gzip ? r.etag().substring(0, r.etag().length() - 1) + "-gzip\"" : r.etag();
+        if (request.checkNotModified(etag)) return null;
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        return gzip
+                ? response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(r.gzippedJson())
+                : response.body(r.json());
+    }
+
+    /**
+     * Whether an Accept-Encoding header allows gzip: listed itself (or through "*") with a q-value
+     * above 0. An explicit "gzip;q=0" refuses it even when "*" is accepted.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) return false;
+        Double gzip = null;
+        Double any = null;
+        for (String part : acceptEncoding.split(",")) {
+            String[] params = part.trim().split(";");
+            String coding = params[0].trim().toLowerCase(Locale.ROOT);
+            double q = 1;
+            for (int i = 1; i < params.length; i++) {
+                String param = params[i].trim().toLowerCase(Locale.ROOT);
+                if (!param.startsWith("q=")) continue;
+                try {
+                    q = Double.parseDouble(param.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    q = 0;
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) gzip = q;
+            else if (coding.equals("*")) any = q;
+        }
+        double q = gzip != null ? gzip : any != null ? any : 0;
+        return q > 0;
+    }
+
+    /**
+     * Portfolio directory (HOD only), one keyset page at a time ordered by owner name, optionally
+     * filtered by department and role; summary=true leaves out the long text fields.
+     * The cursor for the next page is returned in X-Next-Cursor (absent on the last page).
+     */
+    @GetMapping("/directory")
+    @PreAuthorize("hasAnyAuthority('HOD','ROLE_HOD')")
+    public ResponseEntity<List<PortfolioView>> getDirectory(PortfolioDirectoryQuery query) {
+        PortfolioPage page = portfolioService.directoryPage(query);
+        ResponseEntity.BodyBuilder res = ResponseEntity.ok();
+        if (page.nextCursor() != null) res.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        return res.body(page.items());
     }
 
     /**
-     * Get all portfolios (HOD only)
+     * Get all portfolios (HOD only); prefer /directory for anything beyond a small faculty
      */
     @GetMapping("/all")
     @PreAuthorize("hasAnyAuthority('HOD','ROLE_HOD')")
@@ -1,9 +1,12 @@
 package portal.faculty.faculty_portal.user;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserPortfolioRepository extends JpaRepository<UserPortfolio, Long> {
@@ -14,4 +17,91 @@ public interface UserPortfolioRepository extends JpaRepository<UserPortfolio, Lo
     Optional<UserPortfolio> findByUserEmail(@Param("email") String email);
 
     boolean existsByUserId(Long userId);
+
+    /** The whole directory with owners in one joined SELECT (GET /api/portfolio/all). */
+    @Query("SELECT p FROM UserPortfolio p JOIN FETCH p.user")
+    List<UserPortfolio> findAllWithUser();
+
+    /** A directory row: portfolio and owner in a single projection. */
+    String ROW = "SELECT new portal.faculty.faculty_portal.user.PortfolioRow(p.id, u.id, u.name, u.email, u.role, "
+            + "u.department, p.bio, p.websiteUrl, p.linkedinUrl, p.githubUrl, p.twitterUrl, p.researchInterests, "
+            + "p.achievements, p.education, p.experience, p.createdAt, p.updatedAt) ";
+
+    /** {@link #ROW} without the long text fields, which are then never read from the table. */
+    String SUMMARY_ROW = "SELECT new portal.faculty.faculty_portal.user.PortfolioRow(p.id, u.id, u.name, u.email, u.role, "
+            + "u.department, CAST(NULL AS String), p.websiteUrl, p.linkedinUrl, p.githubUrl, p.twitterUrl, "
+            + "p.researchInterests, CAST(NULL AS String), CAST(NULL AS String), CAST(NULL AS String), "
+            + "p.createdAt, p.updatedAt) ";
+
+    /**
+     * Filters and keyset of the directory pages; the first page passes ("", 0) as the cursor. The
+     * department filter gets its own query rather than an "IS NULL OR" catch-all, which would keep a
+     * cached generic plan off idx_users_department_name.
+     */
+    String DIRECTORY_PAGE = """
+            FROM UserPortfolio p JOIN p.user u
+            WHERE (:role IS NULL OR u.role = :role)
+              AND (u.name, u.id) > (:afterName, :afterId)
+            ORDER BY u.name, u.id
+            """;
+
+    String DEPARTMENT_DIRECTORY_PAGE = """
+            FROM UserPortfolio p JOIN p.user u
+            WHERE u.department = :department
+              AND (:role IS NULL OR u.role = :role)
+              AND (u.name, u.id) > (:afterName, :afterId)
+            ORDER BY u.name, u.id
+            """;
+
+    /** One directory page across all departments, ordered by owner name. */
+    @Query(ROW + DIRECTORY_PAGE)
+    List<PortfolioRow> findDirectoryPage(@Param("role") Role role,
+                                         @Param("afterName") String afterName,
+                                         @Param("afterId") long afterId,
+                                         Limit limit);
+
+    /** One directory page of a department, ordered by owner name. */
+    @Query(ROW + DEPARTMENT_DIRECTORY_PAGE)
+    List<PortfolioRow> findDepartmentDirectoryPage(@Param("department") String department,
+                                                   @Param("role") Role role,
+                                                   @Param("afterName") String afterName,
+                                                   @Param("afterId") long afterId,
+                                                   Limit limit);
+
+    /** {@link #findDirectoryPage} in summary form. */
+    @Query(SUMMARY_ROW + DIRECTORY_PAGE)
+    List<PortfolioRow> findDirectorySummaryPage(@Param("role") Role role,
+                                                @Param("afterName") String afterName,
+                                                @Param("afterId") long afterId,
+                                                Limit limit);
+
+    /** {@link #findDepartmentDirectoryPage} in summary form. */
+    @Query(SUMMARY_ROW + DEPARTMENT_DIRECTORY_PAGE)
+    List<PortfolioRow> findDepartmentDirectorySummaryPage(@Param("department") String department,
+                                                          @Param("role") Role role,
+                                                          @Param("afterName") String afterName,
+                                                          @Param("afterId") long afterId,
+                                                          Limit limit);
+
+    /** Directory rows of the given portfolios (search results), in no particular order. */
+    @Query(ROW + "FROM UserPortfolio p JOIN p.user u WHERE p.id IN :ids")
+    List<PortfolioRow> findRows(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Full-text search over research interests (A), bio (B) and achievements (C) through
+     * idx_user_portfolios_search: [id, rank] of up to {@code limit} matches, best first, after the
+     * keyset position ({@code afterRank}, {@code afterId}). Portfolios are public, so no visibility filter.
+     */
+    @Query(value = """
+            SELECT p.id, ts_rank(p.search, q) AS rank
+            FROM user_portfolios p, to_tsquery('english', :query) q
+            WHERE p.search @@ q
+              AND (ts_rank(p.search, q), p.id) < (CAST(:afterRank AS real), :afterId)
+            ORDER BY rank DESC, p.id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Object[]> search(@Param("query") String query,
+                          @Param("afterRank") float afterRank,
+                          @Param("afterId") long afterId,
+                          @Param("limit") int limit);
 }
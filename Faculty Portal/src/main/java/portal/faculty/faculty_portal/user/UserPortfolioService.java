@@ -1,12 +1,18 @@
 package portal.faculty.faculty_portal.user;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import portal.faculty.faculty_portal.common.ETags;
 import portal.faculty.faculty_portal.user.dto.PortfolioCreateDto;
+import portal.faculty.faculty_portal.user.dto.PortfolioDirectoryQuery;
+import portal.faculty.faculty_portal.user.dto.PortfolioPage;
 import portal.faculty.faculty_portal.user.dto.PortfolioView;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,6 +22,8 @@ public class UserPortfolioService {
 
     private final UserPortfolioRepository portfolioRepository;
     private final UserRepository userRepository;
+    private final PortfolioResponseCache responses;
+    private final TransactionTemplate tx;
 
     @Transactional(readOnly = true)
     public Optional<PortfolioView> findByUserId(Long userId) {
@@ -23,6 +31,16 @@ public class UserPortfolioService {
                 .map(this::toView);
     }
 
+    /**
+     * The public portfolio of {@code userId} as cached gzipped JSON with its ETag. Only a cache miss
+     * touches the database (in its own transaction), Hibernate and Jackson.
+     */
+    public Optional<PortfolioResponseCache.Response> findPublicResponse(Long userId) {
+        return responses.get(userId, id -> tx.execute(status -> portfolioRepository.findByUserId(id)
+                .map(p -> responses.encode(toView(p),
+                        ETags.of("portfolio", id, p.getUpdatedAt(), p.getUser().getUpdatedAt())))));
+    }
+
     @Transactional(readOnly = true)
     public Optional<PortfolioView> findByUserEmail(String email) {
         return portfolioRepository.findByUserEmail(email)
@@ -31,11 +49,40 @@ public class UserPortfolioService {
 
     @Transactional(readOnly = true)
     public List<PortfolioView> findAllPortfolios() {
-        return portfolioRepository.findAll().stream()
+        return portfolioRepository.findAllWithUser().stream()
                 .map(this::toView)
                 .toList();
     }
 
+    /** One keyset page of the directory, ordered by owner name; one indexed query per page. */
+    @Transactional(readOnly = true)
+    public PortfolioPage directoryPage(PortfolioDirectoryQuery q) {
+        DirectoryCursor after = DirectoryCursor.decode(q.getCursor());
+        String department = q.getDepartment() == null || q.getDepartment().isBlank() ? null : q.getDepartment();
+        String afterName = after == null ? "" : after.name();
+        long afterId = after == null ? 0 : after.userId();
+        int limit = q.effectiveLimit();
+
+        Limit page = Limit.of(limit + 1);
+        List<PortfolioRow> rows;
+        if (department == null) {
+            rows = q.isSummary()
+                    ? portfolioRepository.findDirectorySummaryPage(q.getRole(), afterName, afterId, page)
+                    : portfolioRepository.findDirectoryPage(q.getRole(), afterName, afterId, page);
+        } else {
+            rows = q.isSummary()
+                    ? portfolioRepository.findDepartmentDirectorySummaryPage(department, q.getRole(), afterName, afterId, page)
+                    : portfolioRepository.findDepartmentDirectoryPage(department, q.getRole(), afterName, afterId, page);
+        }
+
+        String next = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            next = DirectoryCursor.after(rows.get(limit - 1)).encode();
+        }
+        return new PortfolioPage(rows.stream().map(UserPortfolioService::toView).toList(), next);
+    }
+
     @Transactional
     public PortfolioView createOrUpdate(Long userId, PortfolioCreateDto dto, User currentUser) {
         // Security check: users can only edit their own portfolio
@@ -68,6 +115,7 @@ public class UserPortfolioService {
         }
 
         portfolio = portfolioRepository.save(portfolio);
+        responses.invalidate(userId);
         return toView(portfolio);
     }
 
@@ -80,6 +128,7 @@ public class UserPortfolioService {
 
         portfolioRepository.findByUserId(userId)
                 .ifPresent(portfolioRepository::delete);
+        responses.invalidate(userId);
     }
 
     private void updatePortfolioFromDto(UserPortfolio portfolio, PortfolioCreateDto dto) {
@@ -94,6 +143,37 @@ public class UserPortfolioService {
         portfolio.setExperience(dto.getExperience());
     }
 
+    /** Views of the given portfolios (search results), in no particular order. */
+    @Transactional(readOnly = true)
+    public List<PortfolioView> findViews(Collection<Long> portfolioIds) {
+        if (portfolioIds.isEmpty()) return List.of();
+        return portfolioRepository.findRows(portfolioIds).stream()
+                .map(UserPortfolioService::toView)
+                .toList();
+    }
+
+    private static PortfolioView toView(PortfolioRow r) {
+        return PortfolioView.builder()
+                .id(r.id())
+                .userId(r.userId())
+                .userName(r.userName())
+                .userEmail(r.userEmail())
+                .userRole(r.userRole().name())
+                .userDepartment(r.userDepartment())
+                .bio(r.bio())
+                .websiteUrl(r.websiteUrl())
+                .linkedinUrl(r.linkedinUrl())
+                .githubUrl(r.githubUrl())
+                .twitterUrl(r.twitterUrl())
+                .researchInterests(r.researchInterests())
+                .achievements(r.achievements())
+                .education(r.education())
+                .experience(r.experience())
+                .createdAt(r.createdAt())
+                .updatedAt(r.updatedAt())
+                .build();
+    }
+
     private PortfolioView toView(UserPortfolio portfolio) {
         return PortfolioView.builder()
                 .id(portfolio.getId())
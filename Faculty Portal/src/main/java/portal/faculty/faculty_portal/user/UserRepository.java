@@ -1,6 +1,9 @@
 package portal.faculty.faculty_portal.user;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 import java.util.Optional;
@@ -13,6 +16,32 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByEmail(String email);
 
+    /** [latest updatedAt, count] of the users with {@code role}: the directory's ETag version. */
+    @Query("SELECT max(u.updatedAt), count(u) FROM User u WHERE u.role = :role")
+    List<Object[]> findDirectoryVersion(@Param("role") Role role);
+
+    /** [latest updatedAt, count] of all users: tells the analytics cube when to reload them. */
+    @Query("SELECT max(u.updatedAt), count(u) FROM User u")
+    List<Object[]> findUsersVersion();
+
     // Optional: Find by role and department
     List<User> findByRoleAndDepartment(Role role, String department);
+
+    /** Enabled users with {@code role}, limited to {@code department} unless it is null (bulk assignment). */
+    @Query("SELECT u FROM User u WHERE u.role = :role AND u.enabled = true"
+            + " AND (:department IS NULL OR u.department = :department) ORDER BY u.id")
+    List<User> findAssignees(@Param("role") Role role, @Param("department") String department);
+
+    /** [id, tokenVersion, enabled] of users whose older tokens must be rejected. */
+    @Query("SELECT u.id, u.tokenVersion, u.enabled FROM User u WHERE u.tokenVersion > 0 OR u.enabled = false")
+    List<Object[]> findTokenRevocations();
+
+    /** Increments the user's token version; returns the new one (null for an unknown user). */
+    @Query(value = "UPDATE users SET token_version = token_version + 1 WHERE id = :id RETURNING token_version",
+            nativeQuery = true)
+    Integer bumpTokenVersion(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
 }
@@ -0,0 +1,22 @@
+package portal.faculty.faculty_portal.user.dto;
+
+import lombok.Data;
+import portal.faculty.faculty_portal.user.Role;
+
+/** Query parameters of GET /api/portfolio/directory. */
+@Data
+public class PortfolioDirectoryQuery {
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+
+    private String department;        // owner's department
+    private Role role;                // owner's role
+    private boolean summary;          // leave out bio, achievements, education and experience
+    private String cursor;            // X-Next-Cursor of the previous page
+    private Integer limit;
+
+    public int effectiveLimit() {
+        if (limit == null || limit <= 0) return DEFAULT_LIMIT;
+        return Math.min(limit, MAX_LIMIT);
+    }
+}
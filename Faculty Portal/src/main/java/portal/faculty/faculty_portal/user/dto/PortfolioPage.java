@@ -0,0 +1,6 @@
+package portal.faculty.faculty_portal.user.dto;
+
+import java.util.List;
+
+/** One keyset page of the portfolio directory; {@code nextCursor} is null on the last page. */
+public record PortfolioPage(List<PortfolioView> items, String nextCursor) {}
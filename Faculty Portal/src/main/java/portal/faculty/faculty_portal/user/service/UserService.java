@@ -6,6 +6,8 @@ import portal.faculty.faculty_portal.user.dto.MiniUserView;
 
 public interface UserService {
     List<MiniUserView> getFacultyMembers();
+    /** ETag of {@link #getFacultyMembers()}, without loading the list. */
+    String getFacultyMembersETag();
     List<MiniUserView> getAllUsers();
     MiniUserView getUserById(Long id);
 }
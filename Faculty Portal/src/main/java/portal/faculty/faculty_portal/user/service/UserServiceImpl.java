@@ -6,6 +6,7 @@ import org.springframework.stereotype.Service;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import portal.faculty.faculty_portal.common.ETags;
 import portal.faculty.faculty_portal.user.Role;
 import portal.faculty.faculty_portal.user.User;
 import portal.faculty.faculty_portal.user.UserRepository;
@@ -26,6 +27,12 @@ public class UserServiceImpl implements UserService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public String getFacultyMembersETag() {
+        Object[] v = userRepository.findDirectoryVersion(Role.FACULTY).get(0);
+        return ETags.of("faculty", v[0], v[1]);
+    }
+
     @Override
     public List<MiniUserView> getAllUsers() {
         List<User> allUsers = userRepository.findAll();
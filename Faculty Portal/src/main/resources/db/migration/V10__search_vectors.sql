@@ -0,0 +1,16 @@
+-- Full-text search (GET /api/search/...): weighted tsvectors kept current by PostgreSQL itself as
+-- STORED generated columns, so every write path (JPA, bulk SQL, triggers) stays in sync.
+-- Adding them rewrites both tables once. The GIN indexes are built concurrently in V11.
+
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS search tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(description, '')), 'B')
+    ) STORED;
+
+ALTER TABLE user_portfolios ADD COLUMN IF NOT EXISTS search tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(research_interests, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(bio, '')), 'B') ||
+        setweight(to_tsvector('english', coalesce(achievements, '')), 'C')
+    ) STORED;
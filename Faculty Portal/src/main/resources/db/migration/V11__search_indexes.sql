@@ -0,0 +1,8 @@
+-- GIN indexes behind the full-text search columns of V10.
+-- Built CONCURRENTLY (Flyway runs this script outside a transaction).
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_search
+    ON tasks USING gin (search);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_user_portfolios_search
+    ON user_portfolios USING gin (search);
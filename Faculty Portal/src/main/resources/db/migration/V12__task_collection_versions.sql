@@ -0,0 +1,51 @@
+-- Version counter per assignee's task list, bumped by the statement that writes the tasks, so it
+-- changes in the same commit as the rows. Versions the task list ETag: a max(updated_at) read can
+-- miss a write stamped earlier that commits later, a counter can't. The HOD list (all tasks) is
+-- versioned by the sum of all counters, which avoids one global row every task write would lock.
+CREATE TABLE IF NOT EXISTS task_collection_versions (
+    assignee_id bigint PRIMARY KEY,
+    version     bigint NOT NULL
+);
+
+INSERT INTO task_collection_versions (assignee_id, version)
+SELECT DISTINCT assigned_to_id, 1 FROM tasks WHERE assigned_to_id IS NOT NULL
+ON CONFLICT DO NOTHING;
+
+-- rows locked in assignee order, so statements touching overlapping assignees queue instead of deadlocking
+CREATE OR REPLACE FUNCTION bump_task_collection_versions(assignees bigint[]) RETURNS void AS $$
+    INSERT INTO task_collection_versions AS v (assignee_id, version)
+    SELECT a, 1 FROM (SELECT DISTINCT unnest(assignees) AS a) s
+    WHERE a IS NOT NULL
+    ORDER BY a
+    ON CONFLICT (assignee_id) DO UPDATE SET version = v.version + 1;
+$$ LANGUAGE sql;
+
+CREATE OR REPLACE FUNCTION bump_task_collection_versions_trigger() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        PERFORM bump_task_collection_versions(ARRAY(SELECT assigned_to_id FROM new_rows));
+    ELSIF TG_OP = 'UPDATE' THEN
+        -- old assignees too: a reassigned task leaves their list
+        PERFORM bump_task_collection_versions(ARRAY(SELECT assigned_to_id FROM new_rows
+                                                    UNION SELECT assigned_to_id FROM old_rows));
+    ELSE
+        PERFORM bump_task_collection_versions(ARRAY(SELECT assigned_to_id FROM old_rows));
+    END IF;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS tasks_collection_version_insert ON tasks;
+CREATE TRIGGER tasks_collection_version_insert
+    AFTER INSERT ON tasks REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_task_collection_versions_trigger();
+
+DROP TRIGGER IF EXISTS tasks_collection_version_update ON tasks;
+CREATE TRIGGER tasks_collection_version_update
+    AFTER UPDATE ON tasks REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_task_collection_versions_trigger();
+
+DROP TRIGGER IF EXISTS tasks_collection_version_delete ON tasks;
+CREATE TRIGGER tasks_collection_version_delete
+    AFTER DELETE ON tasks REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_task_collection_versions_trigger();
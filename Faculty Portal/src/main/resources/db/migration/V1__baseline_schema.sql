@@ -0,0 +1,80 @@
+-- Schema as previously generated by Hibernate (ddl-auto=update).
+-- Idempotent so that databases created that way (baselined at version 0) only get what they lack.
+
+CREATE TABLE IF NOT EXISTS users (
+    id            bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name          varchar(255) NOT NULL,
+    email         varchar(255) NOT NULL UNIQUE,
+    password      varchar(255) NOT NULL,
+    role          varchar(255) NOT NULL CHECK (role IN ('FACULTY', 'HOD', 'ADMIN', 'IT')),
+    department    varchar(255),
+    enabled       boolean      NOT NULL,
+    created_at    timestamp(6),
+    token_version integer      NOT NULL DEFAULT 0
+);
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS token_version integer NOT NULL DEFAULT 0;
+
+CREATE TABLE IF NOT EXISTS tasks (
+    id             bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title          varchar(255) NOT NULL,
+    description    text,
+    due_at         timestamp(6) with time zone,
+    status         varchar(16)  NOT NULL
+        CHECK (status IN ('ASSIGNED', 'IN_PROGRESS', 'SUBMITTED', 'OVERDUE', 'COMPLETED', 'PENDING')),
+    locked         boolean      NOT NULL,
+    priority       integer,
+    assigned_to_id bigint       NOT NULL CONSTRAINT fk_tasks_assigned_to REFERENCES users,
+    assigned_by_id bigint       NOT NULL CONSTRAINT fk_tasks_assigned_by REFERENCES users,
+    created_at     timestamp(6) with time zone,
+    updated_at     timestamp(6) with time zone
+);
+
+CREATE TABLE IF NOT EXISTS task_submissions (
+    id              bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    task_id         bigint      NOT NULL CONSTRAINT fk_task_submissions_task REFERENCES tasks,
+    submitted_by_id bigint      NOT NULL CONSTRAINT fk_task_submissions_submitted_by REFERENCES users,
+    summary         text        NOT NULL,
+    submitted_at    timestamp(6) with time zone NOT NULL,
+    decision        varchar(16) NOT NULL CHECK (decision IN ('PENDING', 'APPROVED', 'REJECTED')),
+    decision_note   text,
+    decided_by_id   bigint CONSTRAINT fk_task_submissions_decided_by REFERENCES users,
+    decided_at      timestamp(6) with time zone
+);
+
+CREATE TABLE IF NOT EXISTS task_submission_links (
+    submission_id bigint       NOT NULL CONSTRAINT fk_task_submission_links_submission REFERENCES task_submissions,
+    url           varchar(255) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS user_portfolios (
+    id                 bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id            bigint NOT NULL UNIQUE CONSTRAINT fk_user_portfolios_user REFERENCES users,
+    bio                varchar(2048),
+    website_url        varchar(1024),
+    linkedin_url       varchar(1024),
+    github_url         varchar(1024),
+    twitter_url        varchar(1024),
+    research_interests varchar(1024),
+    achievements       varchar(2048),
+    education          varchar(2048),
+    experience         varchar(2048),
+    created_at         timestamp(6),
+    updated_at         timestamp(6)
+);
+
+CREATE TABLE IF NOT EXISTS task_daily_rollup (
+    zone       varchar(64)  NOT NULL,
+    day        date         NOT NULL,
+    department varchar(128) NOT NULL,
+    assigned   bigint       NOT NULL,
+    completed  bigint       NOT NULL,
+    overdue    bigint       NOT NULL,
+    PRIMARY KEY (day, zone, department)
+);
+
+CREATE TABLE IF NOT EXISTS job_leases (
+    name        varchar(64)  NOT NULL PRIMARY KEY,
+    owner       varchar(128) NOT NULL,
+    lease_until timestamp(6) with time zone NOT NULL
+);
@@ -0,0 +1,26 @@
+-- Indexes for the task and submission access paths. Built CONCURRENTLY so existing tables stay
+-- writable (Flyway runs this script outside a transaction).
+
+-- Assignee's tasks by status: TaskRepository.findByAssignedToAndStatus, faculty statistics
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_assignee_status
+    ON tasks (assigned_to_id, status);
+
+-- Open tasks by deadline: overdue sweep, deadline timer refill, findByDueAtBeforeAndStatusNot
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_open_status_due
+    ON tasks (status, due_at) WHERE status <> 'COMPLETED';
+
+-- Creation-time ranges (findByCreatedAtBetween, analytics, rollup rebuild) and the CREATED_AT keyset order
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_created
+    ON tasks (created_at, id);
+
+-- assignedBy filter on the task list
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_assigned_by
+    ON tasks (assigned_by_id);
+
+-- Latest submission of a task with a given decision: findTopByTaskIdAndDecisionOrderBySubmittedAtDesc
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_task_submissions_task_decision
+    ON task_submissions (task_id, decision, submitted_at DESC);
+
+-- Links of a submission (element collection)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_task_submission_links_submission
+    ON task_submission_links (submission_id);
@@ -0,0 +1,9 @@
+-- Task ids come from a plain sequence that Hibernate's pooled optimizer draws 50 at a time, so task
+-- INSERTs can be JDBC-batched (IDENTITY forces one round-trip per row). The identity is replaced
+-- rather than altered because Hibernate's schema validation does not see identity sequences.
+ALTER TABLE tasks ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS tasks_id_seq INCREMENT BY 50 OWNED BY tasks.id;
+-- The pooled optimizer reads each value as the top of its block, hence max + 50
+SELECT setval('tasks_id_seq', COALESCE((SELECT max(id) FROM tasks), 0) + 50, false);
+-- Plain INSERTs that rely on the default still get unique (gapped) ids
+ALTER TABLE tasks ALTER COLUMN id SET DEFAULT nextval('tasks_id_seq');
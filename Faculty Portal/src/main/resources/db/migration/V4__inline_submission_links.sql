@@ -0,0 +1,17 @@
+-- Submission links move from the task_submission_links element-collection table into a text[]
+-- column, so a submission (and the whole history of a task) loads without a per-row links select.
+ALTER TABLE task_submissions ADD COLUMN IF NOT EXISTS links text[] NOT NULL DEFAULT '{}';
+
+DO $$
+BEGIN
+    IF to_regclass('task_submission_links') IS NOT NULL THEN
+        UPDATE task_submissions s
+        SET links = l.urls
+        FROM (SELECT submission_id, array_agg(url) AS urls
+              FROM task_submission_links
+              GROUP BY submission_id) l
+        WHERE s.id = l.submission_id;
+
+        DROP TABLE task_submission_links;
+    END IF;
+END $$;
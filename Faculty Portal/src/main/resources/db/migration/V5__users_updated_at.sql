@@ -0,0 +1,2 @@
+-- Last change to a user's profile row; versions the faculty directory for conditional GETs (ETag).
+ALTER TABLE users ADD COLUMN IF NOT EXISTS updated_at timestamp(6) with time zone DEFAULT now();
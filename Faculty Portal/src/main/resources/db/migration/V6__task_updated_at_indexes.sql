@@ -0,0 +1,10 @@
+-- Latest change to a task collection, read from the index alone: versions the task list ETags.
+-- Built CONCURRENTLY (Flyway runs this script outside a transaction).
+
+-- HOD view: all tasks
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_updated
+    ON tasks (updated_at);
+
+-- Faculty view: one assignee's tasks
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_assignee_updated
+    ON tasks (assigned_to_id, updated_at);
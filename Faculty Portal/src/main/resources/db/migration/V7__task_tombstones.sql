@@ -0,0 +1,36 @@
+-- Tasks that left someone's view, for the delta-sync feed (GET /api/tasks/changes): deleted
+-- (gone for everyone) or reassigned (gone for the former assignee). The application itself never
+-- deletes or reassigns tasks, so this is written by a trigger and also covers out-of-band changes.
+-- A reassignment also bumps updated_at, so the task shows up in the new assignee's feed.
+CREATE TABLE IF NOT EXISTS task_tombstones (
+    id                 bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    task_id            bigint                      NOT NULL,
+    former_assignee_id bigint,
+    deleted            boolean                     NOT NULL,
+    removed_at         timestamp(6) with time zone NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_task_tombstones_removed ON task_tombstones (removed_at);
+
+CREATE OR REPLACE FUNCTION record_task_tombstone() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO task_tombstones (task_id, former_assignee_id, deleted)
+    VALUES (OLD.id, OLD.assigned_to_id, TG_OP = 'DELETE');
+    IF TG_OP = 'DELETE' THEN
+        RETURN OLD;
+    END IF;
+    NEW.updated_at := now();
+    RETURN NEW;
+END
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS tasks_tombstone_delete ON tasks;
+CREATE TRIGGER tasks_tombstone_delete
+    BEFORE DELETE ON tasks
+    FOR EACH ROW EXECUTE FUNCTION record_task_tombstone();
+
+DROP TRIGGER IF EXISTS tasks_tombstone_reassign ON tasks;
+CREATE TRIGGER tasks_tombstone_reassign
+    BEFORE UPDATE OF assigned_to_id ON tasks
+    FOR EACH ROW WHEN (OLD.assigned_to_id IS DISTINCT FROM NEW.assigned_to_id)
+    EXECUTE FUNCTION record_task_tombstone();
@@ -0,0 +1,17 @@
+-- Task events written in the same transaction as the change they describe and handed to
+-- in-process listeners by TaskOutboxRelay, which deletes each row once it has been delivered.
+-- Rows of one task are delivered in id order; a failed row is retried from available_at on.
+CREATE TABLE IF NOT EXISTS task_outbox (
+    id              bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    task_id         bigint                      NOT NULL,
+    status          varchar(16)                 NOT NULL,
+    previous_status varchar(16),
+    assignee_id     bigint                      NOT NULL,
+    department      varchar(255),
+    occurred_at     timestamp(6) with time zone NOT NULL,
+    attempts        integer                     NOT NULL DEFAULT 0,
+    available_at    timestamp(6) with time zone NOT NULL DEFAULT now()
+);
+
+-- per-task ordering check in the relay's claim ("no older row of the same task left behind")
+CREATE INDEX IF NOT EXISTS idx_task_outbox_task ON task_outbox (task_id, id);
@@ -0,0 +1,9 @@
+-- Portfolio directory (GET /api/portfolio/directory) pages through users by name; these let a page
+-- be read in order and stop after the limit, for the whole directory or one department.
+-- Built CONCURRENTLY (Flyway runs this script outside a transaction).
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_name
+    ON users (name, id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_department_name
+    ON users (department, name, id);
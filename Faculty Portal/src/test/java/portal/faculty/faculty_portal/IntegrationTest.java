@@ -0,0 +1,90 @@
+package portal.faculty.faculty_portal;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import portal.faculty.faculty_portal.security.JwtService;
+import portal.faculty.faculty_portal.task.TaskStatus;
+import portal.faculty.faculty_portal.user.Role;
+import portal.faculty.faculty_portal.user.User;
+import portal.faculty.faculty_portal.user.UserRepository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Base of the behaviour tests: the whole application against a scratch schema of the local
+ * PostgreSQL, migrated by Flyway like production. The background workers (overdue sweep, deadline
+ * timer, outbox relay, analytics cube) are off; a test that needs one builds its own instance and
+ * drives it. Every test starts from empty tables and creates the users and tasks it needs.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:postgresql://localhost:5432/faculty_portal?currentSchema=behaviour_tests",
+        "spring.flyway.schemas=behaviour_tests",
+        "spring.flyway.default-schema=behaviour_tests",
+        "spring.jpa.show-sql=false",
+        "app.tasks.overdue-sweep.enabled=false",
+        "app.tasks.deadline-timer.enabled=false",
+        "app.tasks.outbox.relay.enabled=false",
+        "app.analytics.cube.enabled=false"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public abstract class IntegrationTest {
+
+    private static final AtomicInteger USERS = new AtomicInteger();
+
+    @Autowired protected JdbcTemplate jdbc;
+    @Autowired protected UserRepository users;
+    @Autowired protected JwtService jwt;
+
+    @BeforeEach
+    protected void emptyTables() {
+        // user ids are not restarted: the token denylist keeps what it learnt about earlier ones
+        jdbc.execute("""
+                TRUNCATE users, tasks, task_submissions, user_portfolios, task_tombstones, task_outbox,
+                         task_collection_versions, task_daily_rollup, job_leases CASCADE
+                """);
+    }
+
+    protected User user(Role role, String department) {
+        int n = USERS.incrementAndGet();
+        return users.save(User.builder()
+                .name(role.name().toLowerCase() + " " + n)
+                .email(role.name().toLowerCase() + n + "@test.local")
+                .password("{noop}unused")
+                .role(role)
+                .department(department)
+                .build());
+    }
+
+    /** Inserts a task directly, with the given timestamps, and returns its id. */
+    protected long task(User assignee, User assigner, TaskStatus status, Instant dueAt,
+                        Instant createdAt, Instant updatedAt) {
+        return jdbc.queryForObject("""
+                        INSERT INTO tasks (title, description, due_at, status, locked, priority,
+                                           assigned_to_id, assigned_by_id, created_at, updated_at)
+                        VALUES ('task', 'd', ?, ?, ?, 3, ?, ?, ?, ?)
+                        RETURNING id
+                        """, Long.class,
+                timestamp(dueAt), status.name(), status == TaskStatus.COMPLETED, assignee.getId(), assigner.getId(),
+                timestamp(createdAt), timestamp(updatedAt));
+    }
+
+    protected TaskStatus status(long taskId) {
+        return TaskStatus.valueOf(jdbc.queryForObject("SELECT status FROM tasks WHERE id = ?", String.class, taskId));
+    }
+
+    /** Authorization header value for {@code user}. */
+    protected String bearer(User user) {
+        return "Bearer " + jwt.generateToken(user);
+    }
+
+    private static Timestamp timestamp(Instant at) {
+        return at == null ? null : Timestamp.from(at);
+    }
+}
@@ -0,0 +1,253 @@
+package portal.faculty.faculty_portal;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Limit;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import portal.faculty.faculty_portal.analytics.TaskAnalyticsRepository;
+import portal.faculty.faculty_portal.analytics.TaskFact;
+import portal.faculty.faculty_portal.task.ReviewDecision;
+import portal.faculty.faculty_portal.task.TaskRepository;
+import portal.faculty.faculty_portal.task.TaskStatus;
+import portal.faculty.faculty_portal.task.outbox.TaskOutboxRepository;
+import portal.faculty.faculty_portal.task.submission.TaskSubmissionRepository;
+import portal.faculty.faculty_portal.user.Role;
+import portal.faculty.faculty_portal.user.User;
+import portal.faculty.faculty_portal.user.UserPortfolioRepository;
+import portal.faculty.faculty_portal.user.UserRepository;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Plan regression suite: runs every derived and @Query method of the task/user repositories against
+ * a seeded volume (query-plans/seed.sql, ~200k tasks) in a scratch schema of the local PostgreSQL,
+ * replays the captured statements under EXPLAIN (FORMAT JSON) and checks each plan against
+ * query-plans/budgets.properties: the expected index must be used and the estimated total cost
+ * must stay within the recorded budget. The background workers (overdue sweep, deadline timer, outbox
+ * relay, analytics cube) are switched off so the fixture stays as seeded.
+ * <p>
+ * A new repository method fails {@link #everyRepositoryMethodHasAPlanCase} until it gets a case and a budget.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:postgresql://localhost:5432/faculty_portal?currentSchema=query_plans",
+        "spring.flyway.schemas=query_plans",
+        "spring.flyway.default-schema=query_plans",
+        // nothing may rewrite the fixture while plans are captured
+        "app.tasks.overdue-sweep.enabled=false",
+        "app.tasks.deadline-timer.enabled=false",
+        "app.tasks.outbox.relay.enabled=false",
+        "app.analytics.cube.enabled=false"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanRegressionTests {
+
+    private static final List<Class<?>> REPOSITORIES = List.of(
+            TaskRepository.class, TaskSubmissionRepository.class, TaskOutboxRepository.class,
+            TaskAnalyticsRepository.class, UserRepository.class, UserPortfolioRepository.class);
+
+    @TestConfiguration
+    static class CaptureConfig {
+        @Bean
+        static BeanPostProcessor sqlCapture() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource ds ? SqlCapture.wrap(ds) : bean;
+                }
+            };
+        }
+    }
+
+    @Autowired DataSource dataSource;
+    @Autowired PlatformTransactionManager txManager;
+    @Autowired TaskRepository tasks;
+    @Autowired TaskSubmissionRepository submissions;
+    @Autowired TaskOutboxRepository outbox;
+    @Autowired TaskAnalyticsRepository analytics;
+    @Autowired UserRepository users;
+    @Autowired UserPortfolioRepository portfolios;
+
+    private final ObjectMapper json = new ObjectMapper();
+    private final Map<String, Runnable> cases = new LinkedHashMap<>();
+    private Properties budgets;
+
+    @BeforeAll
+    void seed() throws Exception {
+        new ResourceDatabasePopulator(new ClassPathResource("query-plans/seed.sql")).execute(dataSource);
+        budgets = PropertiesLoaderUtils.loadProperties(new ClassPathResource("query-plans/budgets.properties"));
+
+        Instant now = Instant.now();
+        User faculty = User.builder().id(7L).build();
+        String email = "user7@ftms.local";
+
+        cases.put("TaskRepository.findByAssignedTo", () -> tasks.findByAssignedTo(faculty));
+        cases.put("TaskRepository.findByAssignedToAndStatus", () -> tasks.findByAssignedToAndStatus(faculty, TaskStatus.PENDING));
+        cases.put("TaskRepository.findByDueAtBeforeAndStatusNot", () -> tasks.findByDueAtBeforeAndStatusNot(now, TaskStatus.COMPLETED));
+        cases.put("TaskRepository.findByStatus", () -> tasks.findByStatus(TaskStatus.SUBMITTED));
+        cases.put("TaskRepository.findByCreatedAtBetween", () -> tasks.findByCreatedAtBetween(now.minus(Duration.ofDays(1)), now));
+        cases.put("TaskRepository.countByAssignedUserId", () -> tasks.countByAssignedUserId(7L));
+        cases.put("TaskRepository.countByUserInPeriod", () -> tasks.countByUserInPeriod(7L, now.minus(Duration.ofDays(30)), now));
+        cases.put("TaskRepository.countByUserAndStatus", () -> tasks.countByUserAndStatus(7L, TaskStatus.PENDING));
+        cases.put("TaskRepository.countByUserStatusAndPeriod",
+                () -> tasks.countByUserStatusAndPeriod(7L, TaskStatus.COMPLETED, now.minus(Duration.ofDays(90)), now));
+        cases.put("TaskRepository.markOverdueChunk", () -> tasks.markOverdueChunk(now, 500));
+        cases.put("TaskRepository.markOverdueIfOpen", () -> tasks.markOverdueIfOpen(199_999L, now));
+        cases.put("TaskRepository.findOpenDeadlines", () -> tasks.findOpenDeadlines(
+                EnumSet.of(TaskStatus.ASSIGNED, TaskStatus.PENDING, TaskStatus.IN_PROGRESS), now, now.plus(Duration.ofHours(2))));
+        cases.put("TaskRepository.transition",
+                () -> tasks.transition(199_999L, List.of("PENDING", "OVERDUE"), "IN_PROGRESS", 7L, now));
+        Long[] queue = LongStream.rangeClosed(196_001, 196_100).boxed().toArray(Long[]::new);
+        cases.put("TaskRepository.reviewAll",
+                () -> tasks.reviewAll(queue, Collections.nCopies(queue.length, "COMPLETED").toArray(String[]::new), now));
+        cases.put("TaskRepository.findStatuses", () -> tasks.findStatuses(Arrays.asList(queue)));
+        cases.put("TaskRepository.findCollectionVersion", () -> tasks.findCollectionVersion());
+        cases.put("TaskRepository.findCollectionVersionByAssignee", () -> tasks.findCollectionVersionByAssignee(7L));
+        cases.put("TaskRepository.findVersion", () -> tasks.findVersion(199_999L));
+        cases.put("TaskRepository.findOldestWriteStart", () -> tasks.findOldestWriteStart());
+        cases.put("TaskRepository.findTombstones", () -> tasks.findTombstones(7L, now.minus(Duration.ofMinutes(5)), now));
+        cases.put("TaskRepository.search",
+                () -> tasks.search("accreditation:*", null, Float.MAX_VALUE, Long.MAX_VALUE, 21));
+
+        cases.put("TaskSubmissionRepository.findTopByTaskIdAndDecisionOrderBySubmittedAtDesc",
+                () -> submissions.findTopByTaskIdAndDecisionOrderBySubmittedAtDesc(140L, ReviewDecision.REJECTED));
+        cases.put("TaskSubmissionRepository.findByTaskIdOrderBySubmittedAtDesc", () -> submissions.findByTaskIdOrderBySubmittedAtDesc(140L));
+        cases.put("TaskSubmissionRepository.decideLatestPending",
+                () -> submissions.decideLatestPending(140L, "APPROVED", "ok", 1L, now));
+        cases.put("TaskSubmissionRepository.decideAllPending", () -> submissions.decideAllPending(queue,
+                Collections.nCopies(queue.length, "APPROVED").toArray(String[]::new), new String[queue.length], 1L, now));
+
+        Long[] relayed = LongStream.rangeClosed(1, 200).boxed().toArray(Long[]::new);
+        cases.put("TaskOutboxRepository.append", () -> outbox.append(new Long[]{199_999L, 199_998L},
+                new String[]{"IN_PROGRESS", "OVERDUE"}, new String[]{"PENDING", null}, new Long[]{7L, 8L},
+                new String[]{"EEE", "EEE"}, new Instant[]{now, now}));
+        cases.put("TaskOutboxRepository.claim", () -> outbox.claim(now, 200));
+        cases.put("TaskOutboxRepository.deleteDelivered", () -> outbox.deleteDelivered(Arrays.asList(relayed)));
+        cases.put("TaskOutboxRepository.retryLater", () -> outbox.retryLater(List.of(1L, 2L), now, 300));
+        cases.put("TaskOutboxRepository.findOldestPending", () -> outbox.findOldestPending());
+
+        cases.put("TaskAnalyticsRepository.facultyStats", () -> analytics.facultyStats(Role.FACULTY, "EEE",
+                now.minus(Duration.ofDays(180)), now, now, TaskStatus.COMPLETED, TaskStatus.IN_PROGRESS));
+        cases.put("TaskAnalyticsRepository.streamFacts", () -> {
+            try (Stream<TaskFact> facts = analytics.streamFacts()) {
+                facts.findFirst();
+            }
+        });
+        cases.put("TaskAnalyticsRepository.findFactsUpdatedAfter",
+                () -> analytics.findFactsUpdatedAfter(now.minus(Duration.ofSeconds(10))));
+
+        cases.put("UserRepository.findByRole", () -> users.findByRole(Role.HOD));
+        cases.put("UserRepository.findByEmail", () -> users.findByEmail(email));
+        cases.put("UserRepository.findByRoleAndDepartment", () -> users.findByRoleAndDepartment(Role.FACULTY, "EEE"));
+        cases.put("UserRepository.findAssignees", () -> users.findAssignees(Role.FACULTY, "EEE"));
+        cases.put("UserRepository.findDirectoryVersion", () -> users.findDirectoryVersion(Role.FACULTY));
+        cases.put("UserRepository.findTokenRevocations", () -> users.findTokenRevocations());
+        cases.put("UserRepository.bumpTokenVersion", () -> users.bumpTokenVersion(7L));
+        cases.put("UserRepository.findUsersVersion", () -> users.findUsersVersion());
+        cases.put("UserRepository.updatePassword", () -> users.updatePassword(7L, "$2a$10$x"));
+
+        cases.put("UserPortfolioRepository.findByUserId", () -> portfolios.findByUserId(7L));
+        cases.put("UserPortfolioRepository.findByUserEmail", () -> portfolios.findByUserEmail(email));
+        cases.put("UserPortfolioRepository.existsByUserId", () -> portfolios.existsByUserId(7L));
+        cases.put("UserPortfolioRepository.findAllWithUser", () -> portfolios.findAllWithUser());
+        cases.put("UserPortfolioRepository.findDirectoryPage",
+                () -> portfolios.findDirectoryPage(Role.FACULTY, "User 1500", 1500L, Limit.of(51)));
+        cases.put("UserPortfolioRepository.findDepartmentDirectoryPage",
+                () -> portfolios.findDepartmentDirectoryPage("EEE", Role.FACULTY, "User 1500", 1500L, Limit.of(51)));
+        cases.put("UserPortfolioRepository.findDirectorySummaryPage",
+                () -> portfolios.findDirectorySummaryPage(null, "User 1500", 1500L, Limit.of(51)));
+        cases.put("UserPortfolioRepository.findDepartmentDirectorySummaryPage",
+                () -> portfolios.findDepartmentDirectorySummaryPage("EEE", null, "User 1500", 1500L, Limit.of(51)));
+        cases.put("UserPortfolioRepository.findRows", () -> portfolios.findRows(List.of(7L, 8L, 9L)));
+        cases.put("UserPortfolioRepository.search",
+                () -> portfolios.search("photon:*", Float.MAX_VALUE, Long.MAX_VALUE, 21));
+    }
+
+    @AfterAll
+    void dropSchema() {
+        new JdbcTemplate(dataSource).execute("DROP SCHEMA IF EXISTS query_plans CASCADE");
+    }
+
+    @Test
+    void everyRepositoryMethodHasAPlanCase() {
+        for (Class<?> repository : REPOSITORIES) {
+            for (Method m : repository.getDeclaredMethods()) {
+                if (m.isSynthetic() || m.isDefault()) continue;
+                String key = repository.getSimpleName() + "." + m.getName();
+                assertThat(cases).as("plan case for " + key).containsKey(key);
+                assertThat(budgets).as("budget for " + key).containsKey(key);
+            }
+        }
+    }
+
+    @TestFactory
+    Stream<DynamicTest> plansStayOnTheirIndexesAndWithinBudget() {
+        return cases.entrySet().stream().map(c -> DynamicTest.dynamicTest(c.getKey(), () -> check(c.getKey(), c.getValue())));
+    }
+
+    private void check(String key, Runnable call) throws Exception {
+        // run it for real (rolled back) to capture the exact SQL and bindings Hibernate produces
+        TransactionTemplate tx = new TransactionTemplate(txManager);
+        List<SqlCapture.Statement> statements = tx.execute(status -> {
+            status.setRollbackOnly();
+            return SqlCapture.capture(call);
+        });
+        assertThat(statements).as(key + " executed no statement").isNotEmpty();
+
+        String[] budget = budgets.getProperty(key, "").trim().split("\\s+");
+        assertThat(budget).as("budget for " + key + " is '<index|-> <max cost>'").hasSize(2);
+        String expectedIndex = budget[0];
+        double maxCost = Double.parseDouble(budget[1]);
+
+        Set<String> indexes = new TreeSet<>();
+        double cost = 0;
+        for (SqlCapture.Statement statement : statements) {
+            JsonNode plan = explain(statement).get(0).get("Plan");
+            cost = Math.max(cost, plan.get("Total Cost").asDouble());
+            collectIndexes(plan, indexes);
+        }
+        if (!expectedIndex.equals("-")) {
+            assertThat(indexes).as(key + " plan lost its index").contains(expectedIndex);
+        }
+        assertThat(cost).as(key + " estimated cost " + cost + " over budget " + maxCost).isLessThanOrEqualTo(maxCost);
+    }
+
+    private JsonNode explain(SqlCapture.Statement statement) throws Exception {
+        try (Connection c = dataSource.getConnection();
+             PreparedStatement ps = c.prepareStatement("EXPLAIN (FORMAT JSON) " + statement.sql())) {
+            for (SqlCapture.Bind bind : statement.binds()) {
+                bind.method().invoke(ps, bind.args());
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return json.readTree(rs.getString(1));
+            }
+        }
+    }
+
+    private static void collectIndexes(JsonNode plan, Set<String> out) {
+        if (plan.has("Index Name")) out.add(plan.get("Index Name").asText());
+        if (plan.has("Plans")) plan.get("Plans").forEach(child -> collectIndexes(child, out));
+    }
+}
@@ -0,0 +1,83 @@
+package portal.faculty.faculty_portal;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DataSource wrapper that records the SQL and parameter bindings of every prepared statement
+ * executed while {@link #capture} is running, so they can be replayed under EXPLAIN.
+ */
+final class SqlCapture {
+    private SqlCapture() {}
+
+    /** A bind call such as setLong(1, 42), replayable on another PreparedStatement. */
+    record Bind(Method method, Object[] args) {}
+
+    record Statement(String sql, List<Bind> binds) {}
+
+    private static final ThreadLocal<List<Statement>> CAPTURED = new ThreadLocal<>();
+
+    static List<Statement> capture(Runnable action) {
+        List<Statement> statements = new ArrayList<>();
+        CAPTURED.set(statements);
+        try {
+            action.run();
+        } finally {
+            CAPTURED.remove();
+        }
+        return statements;
+    }
+
+    static DataSource wrap(DataSource target) {
+        return proxy(DataSource.class, target, (method, args, result) ->
+                result instanceof Connection c ? proxy(Connection.class, c, SqlCapture::onConnection) : result);
+    }
+
+    private static Object onConnection(Method method, Object[] args, Object result) {
+        if (method.getName().equals("prepareStatement") && args[0] instanceof String sql) {
+            return recording(sql, (PreparedStatement) result);
+        }
+        return result;
+    }
+
+    private static PreparedStatement recording(String sql, PreparedStatement target) {
+        List<Bind> binds = new ArrayList<>();
+        return proxy(PreparedStatement.class, target, (method, args, result) -> {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                binds.add(new Bind(method, args.clone()));
+            } else if (name.equals("clearParameters")) {
+                binds.clear();
+            } else if (name.startsWith("execute") && (args == null || args.length == 0)) {
+                List<Statement> captured = CAPTURED.get();
+                if (captured != null) captured.add(new Statement(sql, List.copyOf(binds)));
+            }
+            return result;
+        });
+    }
+
+    private interface AfterCall {
+        Object apply(Method method, Object[] args, Object result) throws Throwable;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, AfterCall after) {
+        InvocationHandler handler = (p, method, args) -> {
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            return after.apply(method, args, result);
+        };
+        return (T) Proxy.newProxyInstance(SqlCapture.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+}
@@ -0,0 +1,125 @@
+package portal.faculty.faculty_portal.analytics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import portal.faculty.faculty_portal.IntegrationTest;
+import portal.faculty.faculty_portal.task.TaskReadRepository;
+import portal.faculty.faculty_portal.task.TaskRepository;
+import portal.faculty.faculty_portal.task.TaskService;
+import portal.faculty.faculty_portal.task.TaskStatus;
+import portal.faculty.faculty_portal.task.dto.TaskListQuery;
+import portal.faculty.faculty_portal.user.Role;
+import portal.faculty.faculty_portal.user.User;
+import portal.faculty.faculty_portal.user.UserRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * The cube's facet bitmaps give the same facet counts, totals and id pages as the SQL path
+ * ({@link TaskReadRepository#countBy}, {@link TaskReadRepository#count}, {@link TaskReadRepository#findIds})
+ * for every combination of list filters, after the load and after incremental refreshes.
+ */
+class TaskCubeFacetParityTests extends IntegrationTest {
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    @Autowired TaskAnalyticsRepository facts;
+    @Autowired TaskRepository tasks;
+    @Autowired TaskReadRepository taskViews;
+    @Autowired TaskService service; // the context's cube is off, so its facets come from SQL
+    @Autowired UserRepository userRepository;
+    @Autowired PlatformTransactionManager txManager;
+
+    private TaskCube cube;
+    private final List<User> hods = new ArrayList<>();
+    private final List<User> faculty = new ArrayList<>();
+
+    @AfterEach
+    void stopCube() {
+        if (cube != null) cube.shutdown();
+    }
+
+    @Test
+    void bitmapsMatchSqlAfterLoadAndRefreshes() {
+        hods.addAll(List.of(user(Role.HOD, "EEE"), user(Role.HOD, "CSE")));
+        faculty.addAll(List.of(user(Role.FACULTY, "EEE"), user(Role.FACULTY, "EEE"), user(Role.FACULTY, "CSE"),
+                user(Role.FACULTY, null)));
+        List<Long> ids = new ArrayList<>();
+        // updated well before the refresh overlap, so a refresh re-reads only what changes below
+        Instant settled = Instant.now().minus(Duration.ofHours(1));
+        for (int i = 0; i < 45; i++) ids.add(task(i, settled));
+
+        cube = new TaskCube(facts, tasks, userRepository, txManager, new SimpleMeterRegistry(), true,
+                Duration.ofMillis(200), Duration.ofSeconds(10), Duration.ofHours(1));
+        cube.start();
+        await().atMost(Duration.ofSeconds(10)).until(cube::isReady);
+        assertMatchesSql();
+
+        // new, changed, deleted and reassigned tasks, and an assignee moving department
+        for (int i = 45; i < 52; i++) task(i, Instant.now());
+        jdbc.update("UPDATE tasks SET status = 'COMPLETED', priority = 1, updated_at = now() WHERE id = ?", ids.get(0));
+        jdbc.update("DELETE FROM tasks WHERE id = ?", ids.get(1));
+        jdbc.update("UPDATE tasks SET assigned_to_id = ? WHERE id = ?", faculty.get(2).getId(), ids.get(2));
+        User moved = faculty.get(1);
+        moved.setDepartment("CSE");
+        userRepository.save(moved);
+
+        await().atMost(Duration.ofSeconds(20)).untilAsserted(this::assertMatchesSql);
+    }
+
+    private void assertMatchesSql() {
+        List<List<TaskStatus>> statuses = Arrays.asList(null, List.of(TaskStatus.PENDING),
+                List.of(TaskStatus.OVERDUE, TaskStatus.SUBMITTED));
+        List<Integer[]> priorities = List.of(new Integer[]{null, null}, new Integer[]{2, null}, new Integer[]{2, 4});
+        List<String> departments = Arrays.asList(null, "EEE", "CSE", "Physics");
+        List<Long> assigners = Arrays.asList(null, hods.get(1).getId());
+        List<Long> assignees = Arrays.asList(null, faculty.get(0).getId(), faculty.get(3).getId(), -1L);
+
+        for (List<TaskStatus> status : statuses)
+            for (Integer[] priority : priorities)
+                for (String department : departments)
+                    for (Long assignedBy : assigners)
+                        for (Long assignee : assignees) {
+                            TaskListQuery q = new TaskListQuery();
+                            q.setStatus(status);
+                            q.setMinPriority(priority[0]);
+                            q.setMaxPriority(priority[1]);
+                            q.setDepartment(department);
+                            q.setAssignedBy(assignedBy);
+                            String what = "status " + status + ", priority " + Arrays.toString(priority)
+                                    + ", department " + department + ", assigned by " + assignedBy
+                                    + ", assignee " + assignee;
+
+                            assertThat(cube.facets(q, assignee)).as("facets, " + what)
+                                    .contains(service.facets(q, assignee));
+                            assertThat(cube.count(q, assignee)).as("count, " + what)
+                                    .hasValue(taskViews.count(q, assignee));
+                            long after = 0;
+                            List<Long> page;
+                            do {
+                                page = taskViews.findIds(q, assignee, after, 7);
+                                assertThat(cube.ids(q, assignee, after, 7)).as("ids after " + after + ", " + what)
+                                        .contains(page);
+                                if (!page.isEmpty()) after = page.get(page.size() - 1);
+                            } while (page.size() == 7);
+                        }
+    }
+
+    private long task(int i, Instant updatedAt) {
+        Instant created = Instant.now().minus(Duration.ofDays(i + 1));
+        long id = task(faculty.get(i % faculty.size()), hods.get(i % 3 == 0 ? 1 : 0), STATUSES[i % STATUSES.length],
+                Instant.now().plus(Duration.ofDays(i % 7 - 3)), created, updatedAt);
+        jdbc.update("UPDATE tasks SET priority = ? WHERE id = ?", i % 5 + 1, id);
+        return id;
+    }
+}
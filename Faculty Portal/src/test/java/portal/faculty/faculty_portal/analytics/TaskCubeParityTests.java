@@ -0,0 +1,188 @@
+package portal.faculty.faculty_portal.analytics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import portal.faculty.faculty_portal.IntegrationTest;
+import portal.faculty.faculty_portal.task.ReviewDecision;
+import portal.faculty.faculty_portal.task.TaskRepository;
+import portal.faculty.faculty_portal.task.TaskService;
+import portal.faculty.faculty_portal.task.TaskStatus;
+import portal.faculty.faculty_portal.task.dto.BulkAssignDto;
+import portal.faculty.faculty_portal.task.dto.ReviewDto;
+import portal.faculty.faculty_portal.task.dto.SubmissionCreateDto;
+import portal.faculty.faculty_portal.task.dto.TaskCreateDto;
+import portal.faculty.faculty_portal.user.Role;
+import portal.faculty.faculty_portal.user.User;
+import portal.faculty.faculty_portal.user.UserRepository;
+
+import java.sql.Date;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * The cube answers the analytics queries exactly like SQL: faculty stats like
+ * {@link TaskAnalyticsRepository#facultyStats}, trends like the rollup's sumByPeriod, after the bulk
+ * load, after incremental refreshes, and after a reconcile. Either way only the rollup's zones are served.
+ */
+class TaskCubeParityTests extends IntegrationTest {
+
+    private static final List<String> DEPARTMENTS = Arrays.asList(null, "EEE", "CSE", "", "Physics");
+    private static final TaskStatus[] STATUSES = {TaskStatus.PENDING, TaskStatus.IN_PROGRESS, TaskStatus.SUBMITTED,
+            TaskStatus.COMPLETED, TaskStatus.OVERDUE, TaskStatus.ASSIGNED, TaskStatus.COMPLETED};
+
+    @Autowired TaskAnalyticsRepository facts;
+    @Autowired TaskDailyRollupRepository rollupRepository;
+    @Autowired TaskRollupService rollups;
+    @Autowired TaskRepository tasks;
+    @Autowired UserRepository userRepository;
+    @Autowired PlatformTransactionManager txManager;
+    @Autowired TaskService service;
+
+    private final List<TaskCube> cubes = new ArrayList<>();
+    private User hod;
+    private List<User> faculty;
+
+    @BeforeEach
+    void seed() {
+        hod = user(Role.HOD, "EEE");
+        faculty = List.of(user(Role.FACULTY, "EEE"), user(Role.FACULTY, "EEE"), user(Role.FACULTY, "CSE"),
+                user(Role.FACULTY, null));
+        Instant now = Instant.now();
+        for (int i = 0; i < 60; i++) {
+            Instant created = now.minus(Duration.ofHours(29L * i + 3));
+            Instant due = created.plus(Duration.ofDays(i % 9 - 2));
+            Instant updated = created.plus(Duration.ofHours(13L * (i % 11)));
+            task(faculty.get(i % faculty.size()), hod, STATUSES[i % STATUSES.length], due, created, updated);
+        }
+        rollups.rebuild(); // the fixture bypassed the service, so the rollup starts from the tasks table
+    }
+
+    @AfterEach
+    void stopCubes() {
+        cubes.forEach(TaskCube::shutdown);
+    }
+
+    @Test
+    void matchesSqlAfterLoadAndIncrementalRefreshes() {
+        TaskCube cube = cube(Duration.ofHours(1));
+        assertMatchesSql(cube);
+
+        // changes through the service keep the rollup current incrementally, and the cube catches up by polling
+        User eee = faculty.get(0);
+        long created = service.create(createDto(eee), hod).getId();
+        long rejected = service.create(createDto(eee), hod).getId();
+        for (long id : List.of(created, rejected)) {
+            service.start(id, eee);
+            service.submit(id, eee, new SubmissionCreateDto("done", List.of()));
+        }
+        service.review(created, hod, new ReviewDto(ReviewDecision.APPROVED, null));
+        service.review(rejected, hod, new ReviewDto(ReviewDecision.REJECTED, "again"));
+        service.bulkCreate(new BulkAssignDto("Audit", null, Instant.now().plus(Duration.ofDays(3)), null,
+                null, "CSE", null), hod);
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> assertMatchesSql(cube));
+
+        // the cube follows a user into their new department; the rollup does so once rebuilt
+        User moved = faculty.get(1);
+        moved.setDepartment("CSE");
+        userRepository.save(moved);
+        rollups.rebuild();
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> assertMatchesSql(cube));
+    }
+
+    @Test
+    void aReconcilePicksUpWhatTheRefreshesCannotSee() {
+        TaskCube refreshOnly = cube(Duration.ofHours(1));
+        TaskCube reconciling = cube(Duration.ofSeconds(1));
+
+        // an out-of-band fix that leaves updated_at alone is invisible to the incremental refresh
+        jdbc.update("UPDATE tasks SET status = 'COMPLETED' WHERE status <> 'COMPLETED'");
+        rollups.rebuild();
+
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> assertMatchesSql(reconciling));
+        assertThat(refreshOnly.facultyStats(null, Instant.now().minus(Duration.ofDays(90)), Instant.now(), Instant.now()))
+                .as("stats without a reconcile")
+                .isNotEqualTo(sqlStats(null, Instant.now().minus(Duration.ofDays(90)), Instant.now(), Instant.now()));
+    }
+
+    @Test
+    void trendsOnlyAnswerForRollupZonesWhicheverBackendIsUsed() {
+        TaskCube loaded = cube(Duration.ofHours(1));
+        TaskCube notLoaded = new TaskCube(facts, tasks, userRepository, txManager, new SimpleMeterRegistry(), false,
+                Duration.ofMillis(200), Duration.ofSeconds(10), Duration.ofHours(1));
+        ZoneId other = ZoneId.of("Europe/Paris");
+        assertThat(rollups.zones()).doesNotContain(other);
+
+        for (TaskCube cube : List.of(loaded, notLoaded)) {
+            AnalyticsService analytics = new AnalyticsServiceImpl(facts, rollupRepository, rollups, cube);
+            assertThatThrownBy(() -> analytics.getTaskTrends(null, null, TrendGranularity.WEEK, other, null))
+                    .as("cube ready: %s", cube.isReady())
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("Unsupported zone");
+            assertThat(analytics.getTaskTrends(null, null, TrendGranularity.WEEK, rollups.zones().get(0), null))
+                    .isNotEmpty();
+        }
+    }
+
+    private TaskCube cube(Duration reconcileInterval) {
+        TaskCube cube = new TaskCube(facts, tasks, userRepository, txManager, new SimpleMeterRegistry(), true,
+                Duration.ofMillis(200), Duration.ofSeconds(10), reconcileInterval);
+        cubes.add(cube);
+        cube.start();
+        await().atMost(Duration.ofSeconds(10)).until(cube::isReady);
+        return cube;
+    }
+
+    private void assertMatchesSql(TaskCube cube) {
+        Instant now = Instant.now();
+        Instant start = now.minus(Duration.ofDays(90));
+        for (String department : DEPARTMENTS) {
+            if (department == null || !department.isEmpty()) { // the reports take no "" department
+                assertThat(cube.facultyStats(department, start, now, now))
+                        .as("faculty stats, department %s", department)
+                        .isEqualTo(sqlStats(department, start, now, now));
+            }
+            for (ZoneId zone : rollups.zones()) {
+                LocalDate endDay = LocalDate.now(zone).plusDays(1);
+                LocalDate startDay = endDay.minusDays(80);
+                for (TrendGranularity granularity : TrendGranularity.values()) {
+                    assertThat(cube.trends(zone, granularity, startDay, endDay, department))
+                            .as("%s trends in %s, department %s", granularity, zone, department)
+                            .isEqualTo(rollupBuckets(zone, granularity, startDay, endDay, department));
+                }
+            }
+        }
+    }
+
+    private List<FacultyTaskStats> sqlStats(String department, Instant start, Instant end, Instant now) {
+        return facts.facultyStats(Role.FACULTY, department, start, end, now, TaskStatus.COMPLETED, TaskStatus.IN_PROGRESS);
+    }
+
+    private List<TrendBucket> rollupBuckets(ZoneId zone, TrendGranularity granularity, LocalDate startDay,
+                                            LocalDate endDay, String department) {
+        return rollupRepository.sumByPeriod(zone.getId(), granularity.unit, startDay, endDay, department).stream()
+                .map(r -> new TrendBucket(((Date) r[0]).toLocalDate(), ((Number) r[1]).longValue(),
+                        ((Number) r[2]).longValue(), ((Number) r[3]).longValue()))
+                .toList();
+    }
+
+    private static TaskCreateDto createDto(User assignee) {
+        TaskCreateDto dto = new TaskCreateDto();
+        dto.setTitle("Lab report");
+        dto.setAssignedToUserId(assignee.getId());
+        dto.setDueAt(Instant.now().plus(Duration.ofDays(2)));
+        return dto;
+    }
+}
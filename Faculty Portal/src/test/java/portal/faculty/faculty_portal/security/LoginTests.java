@@ -0,0 +1,49 @@
+package portal.faculty.faculty_portal.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import portal.faculty.faculty_portal.IntegrationTest;
+import portal.faculty.faculty_portal.user.Role;
+import portal.faculty.faculty_portal.user.User;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+
+/** POST /api/auth/login: an account locked out by failed attempts is answered 429, right password or not. */
+class LoginTests extends IntegrationTest {
+
+    @Autowired MockMvc mvc;
+    @Autowired PasswordEncoder encoder;
+
+    @Test
+    void lockedOutAccountGets429WithRetryAfter() throws Exception {
+        User faculty = user(Role.FACULTY, "EEE");
+        faculty.setPassword(encoder.encode("right"));
+        users.save(faculty);
+
+        login(faculty.getEmail(), "right").andExpect(MockMvcResultMatchers.status().isOk()).andExpect(jsonPath("$.token").isNotEmpty());
+        for (int i = 0; i < 5; i++) {
+            login(faculty.getEmail(), "wrong").andExpect(MockMvcResultMatchers.status().isUnauthorized());
+        }
+
+        login(faculty.getEmail(), "right")
+                .andExpect(MockMvcResultMatchers.status().isTooManyRequests())
+                .andExpect(r -> assertThat(Long.parseLong(r.getResponse().getHeader(HttpHeaders.RETRY_AFTER)))
+                        .isBetween(1L, 900L)) // the rest of the 15 minute window
+                .andExpect(jsonPath("$.error", containsString("account")));
+    }
+
+    private ResultActions login(String email, String password) throws Exception {
+        return mvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}"));
+    }
+}
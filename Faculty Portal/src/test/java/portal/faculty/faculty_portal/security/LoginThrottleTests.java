@@ -0,0 +1,54 @@
+package portal.faculty.faculty_portal.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+class LoginThrottleTests {
+
+    private static final Duration WINDOW = Duration.ofMinutes(15);
+
+    private final LoginThrottle throttle = new LoginThrottle(3, 5, WINDOW);
+
+    @Test
+    void locksAnAccountOutAfterMaxFailuresFromAnyAddress() {
+        throttle.recordFailure("a@test.local", "10.0.0.1");
+        throttle.recordFailure("A@Test.Local ", "10.0.0.2"); // same account, however it is typed
+        assertThatCode(() -> throttle.check("a@test.local", "10.0.0.3")).doesNotThrowAnyException();
+
+        throttle.recordFailure("a@test.local", "10.0.0.3");
+
+        LoginThrottledException e = catchThrowableOfType(LoginThrottledException.class,
+                () -> throttle.check("a@test.local", "10.0.0.4"));
+        assertThat(e).hasMessageContaining("account");
+        assertThat(e.getRetryAfter()).isPositive().isLessThanOrEqualTo(WINDOW);
+        assertThatCode(() -> throttle.check("b@test.local", "10.0.0.4")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void successClearsTheAccountButNotTheAddress() {
+        for (int i = 0; i < 2; i++) throttle.recordFailure("a@test.local", "10.0.0.1");
+        throttle.recordSuccess("a@test.local");
+        for (int i = 0; i < 2; i++) throttle.recordFailure("a@test.local", "10.0.0.1");
+
+        assertThatCode(() -> throttle.check("a@test.local", "10.0.0.1")).doesNotThrowAnyException();
+
+        throttle.recordFailure("b@test.local", "10.0.0.1"); // fifth failure from the address
+        LoginThrottledException e = catchThrowableOfType(LoginThrottledException.class,
+                () -> throttle.check("c@test.local", "10.0.0.1"));
+        assertThat(e).hasMessageContaining("address");
+    }
+
+    @Test
+    void locksAnAddressOutAcrossAccounts() {
+        for (int i = 0; i < 5; i++) throttle.recordFailure("user" + i + "@test.local", "10.0.0.9");
+
+        assertThat(catchThrowableOfType(LoginThrottledException.class,
+                () -> throttle.check("fresh@test.local", "10.0.0.9"))).hasMessageContaining("address");
+        assertThatCode(() -> throttle.check("fresh@test.local", "10.0.0.10")).doesNotThrowAnyException();
+    }
+}
@@ -0,0 +1,66 @@
+package portal.faculty.faculty_portal.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.awaitility.Awaitility.await;
+
+class PasswordHashingExecutorTests {
+
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    private final PasswordHashingExecutor executor = new PasswordHashingExecutor(1, 1, meters);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void shutdown() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    void turnsAwayLoginsBeyondThreadsAndQueue() {
+        CountDownLatch running = new CountDownLatch(1);
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> executor.run(() -> {
+            running.countDown();
+            waitFor(release);
+            return "first";
+        }));
+        waitFor(running);
+        CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> executor.run(() -> "second"));
+        await().atMost(Duration.ofSeconds(5)).until(() -> meters.get("auth.login.queued").gauge().value() == 1);
+
+        LoginThrottledException e = catchThrowableOfType(LoginThrottledException.class,
+                () -> executor.run(() -> "third"));
+        assertThat(e.getRetryAfter()).isEqualTo(Duration.ofSeconds(1));
+        assertThat(meters.get("auth.login.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(first.join()).isEqualTo("first");
+        assertThat(second.join()).isEqualTo("second");
+    }
+
+    @Test
+    void rethrowsTheTasksOwnException() {
+        assertThatThrownBy(() -> executor.run(() -> {
+            throw new BadCredentialsException("Bad credentials");
+        })).isInstanceOf(BadCredentialsException.class);
+    }
+
+    private static void waitFor(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package portal.faculty.faculty_portal.task;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import portal.faculty.faculty_portal.IntegrationTest;
+import portal.faculty.faculty_portal.analytics.TaskRollupService;
+import portal.faculty.faculty_portal.task.outbox.TaskOutbox;
+import portal.faculty.faculty_portal.user.Role;
+import portal.faculty.faculty_portal.user.User;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/** Deadlines are armed and dropped only when the surrounding transaction commits. */
+class DeadlineTimerTests extends IntegrationTest {
+
+    private static final Duration DUE_IN = Duration.ofMillis(800);
+
+    @Autowired TaskRepository tasks;
+    @Autowired TaskRollupService rollups;
+    @Autowired TaskOutbox outbox;
+    @Autowired PlatformTransactionManager txManager;
+
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    private DeadlineTimer timer;
+    private TransactionTemplate tx;
+    private User hod;
+    private User faculty;
+
+    @BeforeEach
+    void startTimer() {
+        timer = new DeadlineTimer(tasks, rollups, outbox, txManager, meters, Duration.ofHours(2), true);
+        tx = new TransactionTemplate(txManager);
+        hod = user(Role.HOD, "EEE");
+        faculty = user(Role.FACULTY, "EEE");
+    }
+
+    @AfterEach
+    void stopTimer() {
+        timer.shutdown();
+    }
+
+    @Test
+    void scheduleInARolledBackTransactionArmsNothing() {
+        Instant due = Instant.now().plus(DUE_IN);
+        long id = task(faculty, hod, TaskStatus.PENDING, due, Instant.now(), Instant.now());
+
+        tx.executeWithoutResult(status -> {
+            timer.schedule(id, due);
+            assertThat(scheduled()).as("armed before commit").isZero();
+            status.setRollbackOnly();
+        });
+
+        assertThat(scheduled()).isZero();
+        pastDeadline(due);
+        assertThat(status(id)).isEqualTo(TaskStatus.PENDING);
+    }
+
+    @Test
+    void scheduleFiresAfterCommit() {
+        Instant due = Instant.now().plus(DUE_IN);
+        long id = task(faculty, hod, TaskStatus.PENDING, due, Instant.now(), Instant.now());
+
+        tx.executeWithoutResult(status -> timer.schedule(id, due));
+
+        assertThat(scheduled()).isEqualTo(1);
+        await().atMost(Duration.ofSeconds(5)).until(() -> status(id) == TaskStatus.OVERDUE);
+        assertThat(scheduled()).isZero();
+        assertThat(Instant.now()).isAfterOrEqualTo(due);
+    }
+
+    @Test
+    void cancelInARolledBackTransactionKeepsTheDeadline() {
+        Instant due = Instant.now().plus(DUE_IN);
+        long id = task(faculty, hod, TaskStatus.PENDING, due, Instant.now(), Instant.now());
+        timer.schedule(id, due);
+
+        tx.executeWithoutResult(status -> {
+            timer.cancel(id);
+            status.setRollbackOnly();
+        });
+
+        assertThat(scheduled()).isEqualTo(1);
+        await().atMost(Duration.ofSeconds(5)).until(() -> status(id) == TaskStatus.OVERDUE);
+    }
+
+    @Test
+    void cancelAfterCommitDropsTheDeadline() {
+        Instant due = Instant.now().plus(DUE_IN);
+        long id = task(faculty, hod, TaskStatus.PENDING, due, Instant.now(), Instant.now());
+        timer.schedule(id, due);
+
+        tx.executeWithoutResult(status -> {
+            timer.cancel(id);
+            assertThat(scheduled()).as("dropped before commit").isEqualTo(1);
+        });
+
+        assertThat(scheduled()).isZero();
+        pastDeadline(due);
+        assertThat(status(id)).isEqualTo(TaskStatus.PENDING);
+    }
+
+    private int scheduled() {
+        return (int) meters.get("tasks.deadline.scheduled").gauge().value();
+    }
+
+    /** Waits until a timer armed for {@code due} would certainly have fired. */
+    private static void pastDeadline(Instant due) {
+        Instant settled = due.plusMillis(700);
+        await().atMost(Duration.ofSeconds(5)).until(() -> Instant.now().isAfter(settled));
+    }
+}
@@ -0,0 +1,112 @@
+package portal.faculty.faculty_portal.task;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.AccessDeniedException;
+import portal.faculty.faculty_portal.IntegrationTest;
+import portal.faculty.faculty_portal.task.dto.BatchReviewDto;
+import portal.faculty.faculty_portal.task.dto.BatchReviewDto.Item;
+import portal.faculty.faculty_portal.task.dto.BatchReviewResult;
+import portal.faculty.faculty_portal.task.dto.SubmissionCreateDto;
+import portal.faculty.faculty_portal.user.Role;
+import portal.faculty.faculty_portal.user.User;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/** A review batch applies what it can and explains every item it left alone, in request order. */
+class TaskBatchReviewTests extends IntegrationTest {
+
+    @Autowired TaskService service;
+
+    @Test
+    void reportsAnOutcomePerTask() {
+        User hod = user(Role.HOD, "EEE");
+        User faculty = user(Role.FACULTY, "EEE");
+        long approve = submitted(faculty, hod);
+        long reject = submitted(faculty, hod);
+        long twice = submitted(faculty, hod);
+        long undecided = submitted(faculty, hod);
+        long reviewed = task(faculty, hod, TaskStatus.COMPLETED, null, Instant.now(), Instant.now());
+        long noSubmission = task(faculty, hod, TaskStatus.SUBMITTED, null, Instant.now(), Instant.now());
+        long missing = approve + 1000;
+        int events = outboxRows();
+
+        List<BatchReviewResult> results = service.reviewAll(new BatchReviewDto(List.of(
+                new Item(approve, ReviewDecision.APPROVED, "good"),
+                new Item(twice, ReviewDecision.APPROVED, null),
+                new Item(reject, ReviewDecision.REJECTED, "add sources"),
+                new Item(undecided, ReviewDecision.PENDING, null),
+                new Item(reviewed, ReviewDecision.APPROVED, null),
+                new Item(twice, ReviewDecision.REJECTED, null),
+                new Item(noSubmission, ReviewDecision.APPROVED, null),
+                new Item(missing, ReviewDecision.APPROVED, null))), hod);
+
+        assertThat(results).extracting(BatchReviewResult::taskId, BatchReviewResult::status, BatchReviewResult::error)
+                .containsExactly(
+                        tuple(approve, "COMPLETED", null),
+                        tuple(twice, null, "Listed more than once"),
+                        tuple(reject, "PENDING", null),
+                        tuple(undecided, null, "Decision must be APPROVED or REJECTED"),
+                        tuple(reviewed, null, "Task is COMPLETED; it may have been reviewed already."),
+                        tuple(noSubmission, null, "No pending submission."),
+                        tuple(missing, null, "Task not found"));
+
+        assertThat(status(approve)).isEqualTo(TaskStatus.COMPLETED);
+        assertThat(status(reject)).isEqualTo(TaskStatus.PENDING);
+        assertThat(status(twice)).isEqualTo(TaskStatus.SUBMITTED);
+        assertThat(status(undecided)).isEqualTo(TaskStatus.SUBMITTED);
+        assertThat(jdbc.queryForObject("SELECT locked FROM tasks WHERE id = ?", Boolean.class, approve)).isTrue();
+
+        Map<String, Object> decided = jdbc.queryForMap(
+                "SELECT decision, decision_note, decided_by_id FROM task_submissions WHERE task_id = ?", reject);
+        assertThat(decided).containsEntry("decision", "REJECTED")
+                .containsEntry("decision_note", "add sources")
+                .containsEntry("decided_by_id", hod.getId());
+        assertThat(jdbc.queryForObject("SELECT decision FROM task_submissions WHERE task_id = ?", String.class, twice))
+                .isEqualTo("PENDING");
+        assertThat(outboxRows() - events).as("events for the applied reviews").isEqualTo(2);
+    }
+
+    @Test
+    void aSecondBatchFindsTheTaskAlreadyReviewed() {
+        User hod = user(Role.HOD, "EEE");
+        User faculty = user(Role.FACULTY, "EEE");
+        long id = submitted(faculty, hod);
+        BatchReviewDto batch = new BatchReviewDto(List.of(new Item(id, ReviewDecision.APPROVED, null)));
+
+        assertThat(service.reviewAll(batch, hod)).extracting(BatchReviewResult::status).containsExactly("COMPLETED");
+        assertThat(service.reviewAll(batch, user(Role.HOD, "EEE"))).extracting(BatchReviewResult::error)
+                .containsExactly("Task is COMPLETED; it may have been reviewed already.");
+    }
+
+    @Test
+    void onlyAHodCanReview() {
+        User hod = user(Role.HOD, "EEE");
+        User faculty = user(Role.FACULTY, "EEE");
+        long id = submitted(faculty, hod);
+
+        assertThatThrownBy(() -> service.reviewAll(
+                new BatchReviewDto(List.of(new Item(id, ReviewDecision.APPROVED, null))), faculty))
+                .isInstanceOf(AccessDeniedException.class);
+        assertThat(status(id)).isEqualTo(TaskStatus.SUBMITTED);
+    }
+
+    private int outboxRows() {
+        return jdbc.queryForObject("SELECT count(*) FROM task_outbox", Integer.class);
+    }
+
+    /** A task its assignee has started and submitted through the workflow. */
+    private long submitted(User faculty, User hod) {
+        long id = task(faculty, hod, TaskStatus.PENDING, Instant.now().plus(Duration.ofDays(1)), Instant.now(), Instant.now());
+        service.start(id, faculty);
+        service.submit(id, faculty, new SubmissionCreateDto("done", List.of("https://example.org/report")));
+        return id;
+    }
+}
@@ -0,0 +1,110 @@
+package portal.faculty.faculty_portal.task;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import portal.faculty.faculty_portal.IntegrationTest;
+import portal.faculty.faculty_portal.task.dto.BulkAssignDto;
+import portal.faculty.faculty_portal.task.dto.BulkAssignResult;
+import portal.faculty.faculty_portal.user.Role;
+import portal.faculty.faculty_portal.user.User;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/** Bulk assignment creates one task per valid assignee and reports every other one by user id. */
+class TaskBulkAssignTests extends IntegrationTest {
+
+    @Autowired TaskService service;
+
+    @Test
+    void explicitIdsReportMissingAndDisabledUsers() {
+        User hod = user(Role.HOD, "EEE");
+        User active = user(Role.FACULTY, "EEE");
+        User disabled = user(Role.FACULTY, "EEE");
+        disabled.setEnabled(false);
+        users.save(disabled);
+        long missing = active.getId() + 1000;
+
+        List<BulkAssignResult> results = service.bulkCreate(
+                byIds(List.of(active.getId(), disabled.getId(), missing, active.getId())), hod);
+
+        assertThat(results).extracting(BulkAssignResult::userId, BulkAssignResult::error).containsExactlyInAnyOrder(
+                tuple(active.getId(), null),
+                tuple(disabled.getId(), "User is disabled"),
+                tuple(missing, "User not found"));
+        Long taskId = results.stream().filter(r -> r.error() == null).findFirst().orElseThrow().taskId();
+        assertThat(assigneesOfAllTasks()).containsExactly(active.getId());
+        assertThat(status(taskId)).isEqualTo(TaskStatus.PENDING);
+        assertThat(jdbc.queryForObject("SELECT assigned_by_id FROM tasks WHERE id = ?", Long.class, taskId))
+                .isEqualTo(hod.getId());
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM task_outbox", Integer.class)).isEqualTo(1);
+    }
+
+    @Test
+    void departmentMeansItsEnabledFacultyAndRoleNarrowsIt() {
+        User hod = user(Role.HOD, "EEE");
+        User eee1 = user(Role.FACULTY, "EEE");
+        User eee2 = user(Role.FACULTY, "EEE");
+        user(Role.FACULTY, "CSE");
+        User retired = user(Role.FACULTY, "EEE");
+        retired.setEnabled(false);
+        users.save(retired);
+
+        List<BulkAssignResult> results = service.bulkCreate(byGroup("EEE", null), hod);
+        assertThat(results).extracting(BulkAssignResult::userId).containsExactly(eee1.getId(), eee2.getId());
+        assertThat(results).allSatisfy(r -> assertThat(r.taskId()).isNotNull());
+
+        service.bulkCreate(byGroup("EEE", Role.HOD), hod);
+        assertThat(assigneesOfAllTasks()).containsExactlyInAnyOrder(eee1.getId(), eee2.getId(), hod.getId());
+    }
+
+    @Test
+    void rejectsAmbiguousTargetsAndTooManyAssignees() {
+        User hod = user(Role.HOD, "EEE");
+        List<Long> three = List.of(user(Role.FACULTY, "EEE").getId(), user(Role.FACULTY, "EEE").getId(),
+                user(Role.FACULTY, "EEE").getId());
+
+        assertThatThrownBy(() -> service.bulkCreate(dto(three, "EEE", null), hod))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.bulkCreate(dto(null, null, null), hod))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        Object target = AopTestUtils.getTargetObject(service);
+        Object limit = ReflectionTestUtils.getField(target, "maxBulkAssignees");
+        ReflectionTestUtils.setField(target, "maxBulkAssignees", 2);
+        try {
+            assertThatThrownBy(() -> service.bulkCreate(byIds(three), hod))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("At most 2");
+            assertThatThrownBy(() -> service.bulkCreate(byGroup("EEE", null), hod))
+                    .isInstanceOf(IllegalArgumentException.class);
+        } finally {
+            ReflectionTestUtils.setField(target, "maxBulkAssignees", limit);
+        }
+        assertThat(assigneesOfAllTasks()).isEmpty();
+    }
+
+    private static BulkAssignDto byIds(List<Long> userIds) {
+        return dto(userIds, null, null);
+    }
+
+    private static BulkAssignDto byGroup(String department, Role role) {
+        return dto(null, department, role);
+    }
+
+    private static BulkAssignDto dto(List<Long> userIds, String department, Role role) {
+        return new BulkAssignDto("Audit", "Check the lab inventory", Instant.now().plus(Duration.ofDays(7)), null,
+                userIds, department, role);
+    }
+
+    private List<Long> assigneesOfAllTasks() {
+        return jdbc.queryForList("SELECT assigned_to_id FROM tasks ORDER BY id", Long.class);
+    }
+}
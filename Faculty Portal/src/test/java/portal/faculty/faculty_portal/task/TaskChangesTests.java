@@ -0,0 +1,120 @@
+package portal.faculty.faculty_portal.task;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import portal.faculty.faculty_portal.IntegrationTest;
+import portal.faculty.faculty_portal.task.dto.TaskChanges;
+import portal.faculty.faculty_portal.task.dto.TaskView;
+import portal.faculty.faculty_portal.user.Role;
+import portal.faculty.faculty_portal.user.User;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Delta sync (GET /api/tasks/changes) hands out every change exactly once: across page boundaries,
+ * when polled again before the settle window has passed, and for tasks that left the caller's view.
+ */
+class TaskChangesTests extends IntegrationTest {
+
+    private static final Duration SETTLED = Duration.ofSeconds(10); // well past app.tasks.changes.settle
+
+    @Autowired TaskService service;
+    @Autowired DataSource dataSource;
+
+    @Test
+    void pagesSplitOnEqualUpdatedAtWithoutLosingOrRepeatingTasks() {
+        User hod = user(Role.HOD, "EEE");
+        User faculty = user(Role.FACULTY, "EEE");
+        Instant t = Instant.now().minus(Duration.ofHours(1)).truncatedTo(ChronoUnit.MILLIS);
+        List<Long> ids = new ArrayList<>();
+        for (Instant updatedAt : List.of(t, t, t.minusSeconds(60), t, t, t.minusSeconds(60), t)) {
+            ids.add(task(faculty, hod, TaskStatus.PENDING, null, updatedAt, updatedAt));
+        }
+
+        List<TaskView> seen = new ArrayList<>();
+        String cursor = null;
+        TaskChanges page;
+        do {
+            page = service.changesSince(cursor, 2, faculty.getId());
+            assertThat(page.changed()).hasSizeLessThanOrEqualTo(2);
+            seen.addAll(page.changed());
+            cursor = page.cursor();
+        } while (page.hasMore() && seen.size() <= ids.size());
+
+        assertThat(seen).extracting(TaskView::getId).containsExactlyInAnyOrderElementsOf(ids);
+        assertThat(seen).extracting(TaskView::getUpdatedAt).isSorted();
+        assertThat(service.changesSince(cursor, 2, faculty.getId()).changed()).isEmpty();
+    }
+
+    @Test
+    void rePollingWhileAnOlderTransactionIsStillWritingKeepsTheCursor() throws Exception {
+        User hod = user(Role.HOD, "EEE");
+        User faculty = user(Role.FACULTY, "EEE");
+        Instant past = Instant.now().minus(Duration.ofHours(1));
+        long seen = task(faculty, hod, TaskStatus.PENDING, null, past, past);
+        long late = task(faculty, hod, TaskStatus.PENDING, null, past, past);
+
+        String cursor;
+        try (Connection writer = dataSource.getConnection()) {
+            writer.setAutoCommit(false);
+            writer.createStatement().execute("SELECT 1"); // transaction starts now, writes later
+
+            TaskChanges first = service.changesSince(null, 50, faculty.getId());
+            assertThat(first.changed()).extracting(TaskView::getId).containsExactly(seen, late);
+            cursor = first.cursor();
+
+            try (PreparedStatement update = writer.prepareStatement("UPDATE tasks SET updated_at = ? WHERE id = ?")) {
+                update.setTimestamp(1, Timestamp.from(Instant.now()));
+                update.setLong(2, late);
+                update.executeUpdate();
+            }
+
+            TaskChanges again = service.changesSince(cursor, 50, faculty.getId());
+            assertThat(again.changed()).isEmpty();
+            assertThat(again.cursor()).as("cursor while the write is in flight").isEqualTo(cursor);
+            writer.commit();
+        }
+
+        await().atMost(SETTLED).untilAsserted(() ->
+                assertThat(service.changesSince(cursor, 50, faculty.getId()).changed())
+                        .extracting(TaskView::getId).containsExactly(late));
+    }
+
+    @Test
+    void deletedAndReassignedTasksAreReportedAsRemoved() {
+        User hod = user(Role.HOD, "EEE");
+        User from = user(Role.FACULTY, "EEE");
+        User to = user(Role.FACULTY, "EEE");
+        Instant past = Instant.now().minus(Duration.ofHours(1));
+        long deleted = task(from, hod, TaskStatus.PENDING, null, past, past);
+        long moved = task(from, hod, TaskStatus.PENDING, null, past, past);
+        String hodCursor = service.changesSince(null, 50, null).cursor();
+        String fromCursor = service.changesSince(null, 50, from.getId()).cursor();
+
+        jdbc.update("DELETE FROM tasks WHERE id = ?", deleted);
+        jdbc.update("UPDATE tasks SET assigned_to_id = ? WHERE id = ?", to.getId(), moved);
+
+        await().atMost(SETTLED).untilAsserted(() -> {
+            TaskChanges forHod = service.changesSince(hodCursor, 50, null);
+            assertThat(forHod.removed()).containsExactly(deleted);
+            assertThat(forHod.changed()).extracting(TaskView::getId).containsExactly(moved);
+
+            TaskChanges forFormer = service.changesSince(fromCursor, 50, from.getId());
+            assertThat(forFormer.removed()).containsExactlyInAnyOrder(deleted, moved);
+            assertThat(forFormer.changed()).isEmpty();
+        });
+        assertThat(service.changesSince(null, 50, to.getId()).changed()).extracting(TaskView::getId)
+                .containsExactly(moved);
+    }
+}
@@ -0,0 +1,59 @@
+package portal.faculty.faculty_portal.task;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import portal.faculty.faculty_portal.IntegrationTest;
+import portal.faculty.faculty_portal.task.dto.TaskListQuery;
+import portal.faculty.faculty_portal.task.dto.TaskPage;
+import portal.faculty.faculty_portal.task.dto.TaskView;
+import portal.faculty.faculty_portal.user.Role;
+import portal.faculty.faculty_portal.user.User;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Keyset paging of the task list walks every task exactly once, across equal and null due dates. */
+class TaskListPagingTests extends IntegrationTest {
+
+    @Autowired TaskService service;
+
+    @Test
+    void dueAtPagesVisitEveryTaskOnceWithUndatedTasksLast() {
+        User hod = user(Role.HOD, "EEE");
+        User faculty = user(Role.FACULTY, "EEE");
+        Instant t = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        Instant[] keys = {t, null, t.plus(Duration.ofHours(1)), t, null, t.minus(Duration.ofHours(1)), null, t};
+        List<Long> ids = new ArrayList<>();
+        for (Instant key : keys) {
+            ids.add(task(faculty, hod, TaskStatus.PENDING, key, t, t));
+        }
+
+        List<TaskView> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            TaskListQuery q = new TaskListQuery();
+            q.setSort(TaskSort.DUE_AT);
+            q.setLimit(2);
+            q.setCursor(cursor);
+            TaskPage page = service.listPage(q, faculty.getId());
+            assertThat(page.items()).hasSizeLessThanOrEqualTo(2);
+            seen.addAll(page.items());
+            cursor = page.nextCursor();
+        } while (cursor != null && seen.size() <= ids.size());
+
+        // soonest first, tasks without a deadline last, ties by id
+        List<TaskView> expected = seen.stream()
+                .sorted(Comparator.comparing(TaskView::getDueAt, Comparator.nullsLast(Comparator.<Instant>naturalOrder()))
+                        .thenComparing(TaskView::getId))
+                .toList();
+
+        assertThat(seen).extracting(TaskView::getId).containsExactlyInAnyOrderElementsOf(ids);
+        assertThat(seen).extracting(TaskView::getId).containsExactlyElementsOf(expected.stream().map(TaskView::getId).toList());
+    }
+}
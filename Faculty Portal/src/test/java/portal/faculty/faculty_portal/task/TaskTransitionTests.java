@@ -0,0 +1,89 @@
+package portal.faculty.faculty_portal.task;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import portal.faculty.faculty_portal.IntegrationTest;
+import portal.faculty.faculty_portal.user.Role;
+import portal.faculty.faculty_portal.user.User;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+
+/** Status changes are guarded UPDATEs: a lost race is a 409, the wrong actor a 403, and only one change lands. */
+class TaskTransitionTests extends IntegrationTest {
+
+    @Autowired MockMvc mvc;
+    @Autowired TaskService service;
+    @Autowired PlatformTransactionManager txManager;
+
+    @Test
+    void concurrentStartsGiveOneSuccessAndOneConflict() throws Exception {
+        User hod = user(Role.HOD, "EEE");
+        User faculty = user(Role.FACULTY, "EEE");
+        long id = task(faculty, hod, TaskStatus.PENDING, Instant.now().plus(Duration.ofDays(1)), Instant.now(), Instant.now());
+
+        // hold the row so both requests queue on it, then let them go together
+        List<Integer> statuses;
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            statuses = new TransactionTemplate(txManager).execute(tx -> {
+                jdbc.queryForList("SELECT id FROM tasks WHERE id = ? FOR UPDATE", id);
+                List<CompletableFuture<Integer>> requests = List.of(
+                        CompletableFuture.supplyAsync(() -> start(id, faculty), pool),
+                        CompletableFuture.supplyAsync(() -> start(id, faculty), pool));
+                await().atMost(Duration.ofSeconds(10)).until(() -> waitingOnLocks() == 2);
+                return requests;
+            }).stream().map(CompletableFuture::join).toList();
+        } finally {
+            pool.shutdown();
+        }
+
+        assertThat(statuses).containsExactlyInAnyOrder(200, 409);
+        assertThat(status(id)).isEqualTo(TaskStatus.IN_PROGRESS);
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM task_outbox WHERE task_id = ?", Integer.class, id))
+                .as("events for the task").isEqualTo(1);
+    }
+
+    @Test
+    void onlyTheAssigneeCanStartATask() {
+        User hod = user(Role.HOD, "EEE");
+        User assignee = user(Role.FACULTY, "EEE");
+        User other = user(Role.FACULTY, "EEE");
+        long id = task(assignee, hod, TaskStatus.PENDING, null, Instant.now(), Instant.now());
+
+        assertThat(start(id, other)).isEqualTo(403);
+        assertThatThrownBy(() -> service.start(id, other)) // past the endpoint guard, the UPDATE's own check
+                .isInstanceOf(AccessDeniedException.class);
+        assertThat(status(id)).isEqualTo(TaskStatus.PENDING);
+    }
+
+    private int start(long id, User as) {
+        try {
+            return mvc.perform(patch("/api/tasks/{id}/start", id).header(HttpHeaders.AUTHORIZATION, bearer(as)))
+                    .andReturn().getResponse().getStatus();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private int waitingOnLocks() {
+        return jdbc.queryForObject("""
+                SELECT count(*) FROM pg_stat_activity
+                WHERE datname = current_database() AND wait_event_type = 'Lock' AND query LIKE '%UPDATE tasks%'
+                """, Integer.class);
+    }
+}
@@ -0,0 +1,144 @@
+package portal.faculty.faculty_portal.task.outbox;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import portal.faculty.faculty_portal.IntegrationTest;
+import portal.faculty.faculty_portal.task.TaskEvent;
+import portal.faculty.faculty_portal.task.TaskStatus;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/** The relay delivers each task's events in order, backs failures off, and keeps held-back rows out of the way. */
+class TaskOutboxRelayTests extends IntegrationTest {
+
+    @Autowired TaskOutboxRepository entries;
+    @Autowired PlatformTransactionManager txManager;
+
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    private final List<TaskEvent> delivered = new ArrayList<>();
+    private TaskOutboxRelay relay;
+
+    @AfterEach
+    void stopRelay() {
+        if (relay != null) relay.shutdown();
+    }
+
+    @Test
+    void aFailedEventHoldsBackTheRestOfItsTaskOnly() {
+        Set<Long> failOnce = new HashSet<>();
+        relay(10, 10, e -> e.taskId() == 1 && e.status() == TaskStatus.IN_PROGRESS && failOnce.add(e.taskId()));
+        long started = row(1, TaskStatus.IN_PROGRESS, Instant.now(), 0);
+        row(1, TaskStatus.SUBMITTED, Instant.now(), 0);
+        row(2, TaskStatus.IN_PROGRESS, Instant.now(), 0);
+
+        assertThat(relay.deliverBatch()).isEqualTo(2);
+        assertThat(delivered).extracting(TaskEvent::taskId, TaskEvent::status)
+                .containsExactly(tuple(2L, TaskStatus.IN_PROGRESS));
+        assertThat(relay.deliverBatch()).as("task 1 waits for its retry").isZero();
+
+        makeDue(started);
+        assertThat(relay.deliverBatch()).isEqualTo(1);
+        assertThat(relay.deliverBatch()).isEqualTo(1);
+        assertThat(relay.deliverBatch()).isZero();
+
+        assertThat(delivered).extracting(TaskEvent::taskId, TaskEvent::status).containsExactly(
+                tuple(2L, TaskStatus.IN_PROGRESS),
+                tuple(1L, TaskStatus.IN_PROGRESS),
+                tuple(1L, TaskStatus.SUBMITTED));
+        assertThat(counter("tasks.outbox.retried")).isEqualTo(1);
+        assertThat(counter("tasks.outbox.delivered")).isEqualTo(3);
+    }
+
+    @Test
+    void rowsHeldBackByARetryDoNotCrowdOutOtherTasks() {
+        relay(2, 10, e -> false);
+        row(1, TaskStatus.IN_PROGRESS, Instant.now().plus(Duration.ofHours(1)), 3); // waiting for its retry
+        for (int i = 0; i < 5; i++) row(1, TaskStatus.SUBMITTED, Instant.now(), 0);
+        row(2, TaskStatus.IN_PROGRESS, Instant.now(), 0);
+        row(3, TaskStatus.IN_PROGRESS, Instant.now(), 0);
+
+        assertThat(relay.deliverBatch()).isEqualTo(2);
+        assertThat(delivered).extracting(TaskEvent::taskId).containsExactly(2L, 3L);
+        assertThat(relay.deliverBatch()).isZero();
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM task_outbox", Integer.class)).isEqualTo(6);
+    }
+
+    @Test
+    void backsOffExponentiallyAndGivesUpAfterMaxAttempts() {
+        relay(10, 3, e -> true);
+        long id = row(1, TaskStatus.IN_PROGRESS, Instant.now(), 0);
+
+        for (int attempt = 1; attempt <= 2; attempt++) {
+            Instant before = Instant.now().truncatedTo(ChronoUnit.MICROS);
+            assertThat(relay.deliverBatch()).isEqualTo(1);
+            Instant after = Instant.now();
+
+            Map<String, Object> row = jdbc.queryForMap("SELECT attempts, available_at FROM task_outbox WHERE id = ?", id);
+            Duration backoff = Duration.ofSeconds(1L << (attempt - 1));
+            assertThat(row.get("attempts")).isEqualTo(attempt);
+            assertThat(((Timestamp) row.get("available_at")).toInstant())
+                    .isBetween(before.plus(backoff), after.plus(backoff));
+            makeDue(id);
+        }
+
+        assertThat(relay.deliverBatch()).isEqualTo(1);
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM task_outbox", Integer.class)).as("abandoned").isZero();
+        assertThat(counter("tasks.outbox.retried")).isEqualTo(2);
+        assertThat(counter("tasks.outbox.abandoned")).isEqualTo(1);
+        assertThat(counter("tasks.outbox.delivered")).isZero();
+    }
+
+    @Test
+    void capsTheBackoff() {
+        relay(10, 100, e -> true);
+        long id = row(1, TaskStatus.IN_PROGRESS, Instant.now(), 12); // 2^12 s uncapped
+
+        Instant before = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        relay.deliverBatch();
+
+        Instant availableAt = jdbc.queryForObject("SELECT available_at FROM task_outbox WHERE id = ?", Timestamp.class, id)
+                .toInstant();
+        assertThat(availableAt).isBetween(before.plusSeconds(300), Instant.now().plusSeconds(300));
+    }
+
+    private void relay(int batchSize, int maxAttempts, Predicate<TaskEvent> failWhen) {
+        TaskEventListener listener = event -> {
+            if (failWhen.test(event)) throw new IllegalStateException("listener down");
+            delivered.add(event);
+        };
+        relay = new TaskOutboxRelay(entries, List.of(listener), txManager, meters, Duration.ofSeconds(1),
+                batchSize, maxAttempts, true);
+    }
+
+    private long row(long taskId, TaskStatus status, Instant availableAt, int attempts) {
+        return jdbc.queryForObject("""
+                        INSERT INTO task_outbox (task_id, status, assignee_id, occurred_at, attempts, available_at)
+                        VALUES (?, ?, 1, now(), ?, ?)
+                        RETURNING id
+                        """, Long.class,
+                taskId, status.name(), attempts, Timestamp.from(availableAt));
+    }
+
+    private void makeDue(long id) {
+        jdbc.update("UPDATE task_outbox SET available_at = now() - interval '1 second' WHERE id = ?", id);
+    }
+
+    private double counter(String name) {
+        return meters.get(name).counter().count();
+    }
+}
@@ -0,0 +1,98 @@
+-- Volume fixture for QueryPlanRegressionTests: ~2k users, 200k tasks, ~150k submissions.
+-- Runs in the test's own schema (search_path); statuses and dates are skewed like production:
+-- old tasks are mostly COMPLETED, the newest ones are open and due in the future.
+
+TRUNCATE task_submissions, tasks, user_portfolios, users, task_daily_rollup, job_leases, task_tombstones, task_outbox
+    RESTART IDENTITY CASCADE;
+
+INSERT INTO users (name, email, password, role, department, enabled, created_at, token_version)
+SELECT 'User ' || g,
+       'user' || g || '@ftms.local',
+       '$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z1s2dUuPpm4CKFtvOqe.jhgu',
+       CASE WHEN g % 40 = 0 THEN 'HOD' WHEN g % 97 = 0 THEN 'ADMIN' ELSE 'FACULTY' END,
+       (ARRAY ['EEE', 'CSE', 'ME', 'CE', 'BBA', 'ENG', 'PHY', 'MATH'])[1 + g % 8],
+       g % 500 <> 0,
+       now() - g * interval '6 hours',
+       CASE WHEN g % 50 = 0 THEN 1 ELSE 0 END
+FROM generate_series(1, 2000) g;
+
+INSERT INTO tasks (id, title, description, due_at, status, locked, priority,
+                   assigned_to_id, assigned_by_id, created_at, updated_at)
+SELECT g,
+       (ARRAY ['Course file', 'Lab report', 'Exam paper', 'Attendance audit', 'Syllabus review',
+               'Research proposal', 'Seminar', 'Budget statement'])[1 + g % 8] || ' ' || g,
+       CASE WHEN g % 1000 = 0 THEN 'Collect the accreditation evidence for section ' || g
+            ELSE 'Prepare the ' || (ARRAY ['course file', 'lab report', 'question paper', 'marks sheet',
+                                           'project review', 'meeting minutes'])[1 + g % 6]
+                     || ' for section ' || g END,
+       created + interval '14 days',
+       CASE
+           WHEN g > 196000 THEN (ARRAY ['PENDING', 'IN_PROGRESS', 'SUBMITTED', 'ASSIGNED'])[1 + g % 4]
+           WHEN g % 20 = 0 THEN 'OVERDUE'
+           WHEN g % 20 = 1 THEN 'SUBMITTED'
+           ELSE 'COMPLETED'
+           END,
+       false,
+       1 + g % 5,
+       1 + (g * 7919) % 2000,
+       40 * (1 + g % 50),
+       created,
+       created + interval '3 days'
+FROM (SELECT g, now() - (200000 - g) * interval '5 minutes' AS created
+      FROM generate_series(1, 200000) g) s;
+-- explicit ids keep them dense (the sequence hands out blocks of 50); see V3
+SELECT setval('tasks_id_seq', (SELECT max(id) FROM tasks) + 50, false);
+
+INSERT INTO task_submissions (task_id, submitted_by_id, summary, submitted_at, decision,
+                              decision_note, decided_by_id, decided_at)
+SELECT t.id,
+       t.assigned_to_id,
+       'Submitted work for task ' || t.id,
+       t.created_at + interval '2 days',
+       CASE t.status WHEN 'COMPLETED' THEN 'APPROVED' WHEN 'SUBMITTED' THEN 'PENDING' ELSE 'REJECTED' END,
+       NULL,
+       CASE WHEN t.status <> 'SUBMITTED' THEN t.assigned_by_id END,
+       CASE WHEN t.status <> 'SUBMITTED' THEN t.created_at + interval '3 days' END
+FROM tasks t
+WHERE t.status IN ('COMPLETED', 'SUBMITTED', 'OVERDUE') AND t.id % 5 <> 0;
+
+-- an earlier rejected attempt for some of them
+INSERT INTO task_submissions (task_id, submitted_by_id, summary, submitted_at, decision,
+                              decision_note, decided_by_id, decided_at)
+SELECT s.task_id, s.submitted_by_id, 'First attempt', s.submitted_at - interval '1 day', 'REJECTED',
+       'Please add the lab data', s.decided_by_id, s.submitted_at - interval '12 hours'
+FROM task_submissions s
+WHERE s.task_id % 7 = 0;
+
+UPDATE task_submissions
+SET links = CASE
+                WHEN id % 2 = 0 THEN ARRAY ['https://drive.example.edu/f/' || id || '/1', 'https://drive.example.edu/f/' || id || '/2']
+                ELSE ARRAY ['https://drive.example.edu/f/' || id || '/1']
+    END;
+
+-- two weeks of reassignments and deletions for the delta-sync feed
+INSERT INTO task_tombstones (task_id, former_assignee_id, deleted, removed_at)
+SELECT g * 10, 1 + (g * 7919) % 2000, g % 4 = 0, now() - (20000 - g) * interval '1 minute'
+FROM generate_series(1, 20000) g;
+
+-- a relay backlog: 50k undelivered events, every hundredth one backing off after failures
+INSERT INTO task_outbox (task_id, status, previous_status, assignee_id, department, occurred_at, attempts, available_at)
+SELECT 1 + (g * 37) % 200000, 'IN_PROGRESS', 'PENDING', 1 + g % 2000, 'EEE', now() - (50000 - g) * interval '1 second',
+       CASE WHEN g % 100 = 0 THEN 3 ELSE 0 END,
+       CASE WHEN g % 100 = 0 THEN now() + interval '8 seconds' ELSE now() - (50000 - g) * interval '1 second' END
+FROM generate_series(1, 50000) g;
+
+INSERT INTO user_portfolios (user_id, bio, research_interests, achievements, created_at, updated_at)
+SELECT u.id,
+       'Bio of ' || u.name,
+       (ARRAY ['Power systems, embedded control', 'Machine learning, computer vision',
+               'Renewable energy, smart grids', 'VLSI design, signal processing',
+               'Databases, distributed systems', 'Robotics, control theory'])[1 + u.id % 6],
+       CASE WHEN u.id % 200 = 0 THEN 'Best paper award, IEEE photonics conference' ELSE 'Teaching excellence award' END,
+       now(), now()
+FROM users u
+WHERE u.id % 4 <> 0;
+
+-- VACUUM as well: sets the visibility map the way autovacuum would in production, so index-only
+-- scans are costed realistically
+VACUUM ANALYZE;